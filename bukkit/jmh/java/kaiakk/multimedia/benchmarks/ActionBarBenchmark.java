@@ -0,0 +1,91 @@
+package kaiakk.multimedia.benchmarks;
+
+import kaiakk.multimedia.classes.VisualCreator;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ActionBarBenchmark - One action bar sent to 500 players: broadcastActionBar (sender resolved
+ * once, payload built once) and sendActionBar per player (sender resolved once, payload built
+ * per player) against the per-call reflection it replaced, kept below as legacySendActionBar.
+ * Runs against FakeServer players, which take the Spigot component path like a Spigot 1.16 server.
+ * Run with: gradle jmh -PjmhArgs="ActionBarBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionBarBenchmark {
+
+	private static final String MESSAGE = "§6Health: §f20/20 §7| §6Mana: §f100";
+
+	@Param({"500"})
+	private int recipients;
+
+	private final AtomicLong sent = new AtomicLong();
+	private Player[] players;
+
+	@Setup
+	public void setup() {
+		FakeServer.install();
+		FakeServer.clearPlayers();
+		players = new Player[recipients];
+		for (int i = 0; i < recipients; i++) {
+			players[i] = FakeServer.player("Player" + i, sent);
+		}
+		VisualCreator.sendActionBar(players[0], MESSAGE); // Resolve the sender outside the measurement
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (sent.get() == 0) throw new IllegalStateException("No action bar reached a player");
+		FakeServer.clearPlayers();
+	}
+
+	@Benchmark
+	public long broadcast() {
+		VisualCreator.broadcastActionBar(MESSAGE);
+		return sent.get();
+	}
+
+	@Benchmark
+	public long sendEach() {
+		for (Player player : players) {
+			VisualCreator.sendActionBar(player, MESSAGE);
+		}
+		return sent.get();
+	}
+
+	@Benchmark
+	public long sendEachLegacy() {
+		for (Player player : players) {
+			legacySendActionBar(player, MESSAGE);
+		}
+		return sent.get();
+	}
+
+	/**
+	 * What sendActionBar did before the sender was cached: look up Paper's method on every
+	 * call (missing on Spigot, so it throws), then build the payload for this one player.
+	 * The old code fell through to NMS packets there; FakeServer has no NMS, so the Spigot
+	 * component send stands in for it.
+	 */
+	private static void legacySendActionBar(Player player, String message) {
+		try {
+			java.lang.reflect.Method method = Player.class.getMethod("sendActionBar", String.class);
+			method.invoke(player, message);
+			return;
+		} catch (NoSuchMethodException ignored) {
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+		player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message));
+	}
+}
@@ -0,0 +1,249 @@
+package kaiakk.multimedia.benchmarks;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.ScoreboardManager;
+import org.bukkit.scoreboard.Team;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * FakeServer - Minimal in-memory Server, Player and Scoreboard stand-ins so library code
+ * can be benchmarked outside a running server. Everything is a dynamic proxy: getters and
+ * setters are backed by a property map, unknown calls return zero/false/""/null.
+ * Scoreboards keep their teams, objectives and scores, so their footprint scales the way
+ * the server's does (per board, per team, per score), though not byte for byte.
+ */
+final class FakeServer {
+
+	private static final List<Player> onlinePlayers = new ArrayList<>();
+	private static Scoreboard mainScoreboard;
+
+	private FakeServer() {}
+
+	static synchronized void install() {
+		if (Bukkit.getServer() != null) return;
+		
+		mainScoreboard = newScoreboard();
+		BukkitScheduler scheduler = proxy(BukkitScheduler.class, new Fake()); // Tasks are never run
+		ScoreboardManager manager = proxy(ScoreboardManager.class, new Fake() {
+			@Override
+			Object handle(Object self, String name, Object[] args) {
+				if (name.equals("getMainScoreboard")) return mainScoreboard;
+				if (name.equals("getNewScoreboard")) return newScoreboard();
+				return super.handle(self, name, args);
+			}
+		});
+		Bukkit.setServer(proxy(Server.class, new Fake() {
+			@Override
+			Object handle(Object self, String name, Object[] args) {
+				if (name.equals("getLogger")) return Logger.getLogger("FakeServer");
+				if (name.equals("getScoreboardManager")) return manager;
+				if (name.equals("getOnlinePlayers")) return Collections.unmodifiableList(onlinePlayers);
+				if (name.equals("getPlayer") && args[0] instanceof UUID) return findPlayer((UUID) args[0]);
+				if (name.equals("isPrimaryThread")) return true;
+				if (name.equals("getScheduler")) return scheduler;
+				return super.handle(self, name, args);
+			}
+		}));
+	}
+
+	/**
+	 * Create an online player. Action bars sent through player.spigot() are counted in sent.
+	 */
+	static Player player(String name, AtomicLong sent) {
+		UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes());
+		Player.Spigot spigot = new Player.Spigot() {
+			@Override
+			public void sendMessage(ChatMessageType position, BaseComponent... components) {
+				sent.incrementAndGet();
+			}
+		};
+		Player player = proxy(Player.class, new Fake() {
+			@Override
+			Object handle(Object self, String method, Object[] args) {
+				if (method.equals("getUniqueId")) return uuid;
+				if (method.equals("getName")) return name;
+				if (method.equals("isOnline")) return true;
+				if (method.equals("spigot")) return spigot;
+				return super.handle(self, method, args);
+			}
+		});
+		synchronized (FakeServer.class) {
+			onlinePlayers.add(player);
+		}
+		return player;
+	}
+
+	/**
+	 * A plugin handle for SchedulerHelper.setPlugin, so helpers don't warn about a missing plugin.
+	 */
+	static Plugin plugin() {
+		return proxy(Plugin.class, new Fake());
+	}
+
+	private static synchronized Player findPlayer(UUID uuid) {
+		for (Player player : onlinePlayers) {
+			if (player.getUniqueId().equals(uuid)) return player;
+		}
+		return null;
+	}
+
+	static synchronized void clearPlayers() {
+		onlinePlayers.clear();
+	}
+
+	private static Scoreboard newScoreboard() {
+		Map<String, Objective> objectives = new HashMap<>();
+		Map<String, Team> teams = new HashMap<>();
+		Map<String, Map<String, Score>> scores = new HashMap<>();
+		return proxy(Scoreboard.class, new Fake() {
+			@Override
+			Object handle(Object self, String name, Object[] args) {
+				switch (name) {
+					case "registerNewObjective":
+						Objective objective = newObjective((Scoreboard) self, (String) args[0], objectives, scores);
+						objectives.put((String) args[0], objective);
+						return objective;
+					case "getObjective":
+						return args[0] instanceof String ? objectives.get(args[0]) : null;
+					case "getObjectives":
+						return new HashSet<>(objectives.values());
+					case "registerNewTeam":
+						Team team = newTeam((Scoreboard) self, (String) args[0], teams);
+						teams.put((String) args[0], team);
+						return team;
+					case "getTeam":
+						return teams.get(args[0]);
+					case "getTeams":
+						return new HashSet<>(teams.values());
+					case "resetScores":
+						for (Map<String, Score> byEntry : scores.values()) {
+							byEntry.remove(String.valueOf(args[0]));
+						}
+						return null;
+					default:
+						return super.handle(self, name, args);
+				}
+			}
+		});
+	}
+
+	private static Objective newObjective(Scoreboard board, String objectiveName, Map<String, Objective> objectives,
+			Map<String, Map<String, Score>> scores) {
+		Map<String, Score> byEntry = new HashMap<>();
+		scores.put(objectiveName, byEntry);
+		return proxy(Objective.class, new Fake() {
+			@Override
+			Object handle(Object self, String name, Object[] args) {
+				switch (name) {
+					case "getName":
+						return objectiveName;
+					case "getScoreboard":
+						return board;
+					case "getScore":
+						return byEntry.computeIfAbsent(String.valueOf(args[0]), entry -> proxy(Score.class, new Fake()));
+					case "unregister":
+						objectives.remove(objectiveName);
+						scores.remove(objectiveName);
+						return null;
+					default:
+						return super.handle(self, name, args);
+				}
+			}
+		});
+	}
+
+	private static Team newTeam(Scoreboard board, String teamName, Map<String, Team> teams) {
+		Set<String> entries = new HashSet<>();
+		return proxy(Team.class, new Fake() {
+			@Override
+			Object handle(Object self, String name, Object[] args) {
+				switch (name) {
+					case "getName":
+						return teamName;
+					case "getScoreboard":
+						return board;
+					case "addEntry":
+						entries.add((String) args[0]);
+						return null;
+					case "removeEntry":
+						return entries.remove(args[0]);
+					case "hasEntry":
+						return entries.contains(args[0]);
+					case "getEntries":
+						return new HashSet<>(entries);
+					case "getSize":
+						return entries.size();
+					case "unregister":
+						teams.remove(teamName);
+						return null;
+					default:
+						return super.handle(self, name, args);
+				}
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, Fake handler) {
+		return (T) Proxy.newProxyInstance(FakeServer.class.getClassLoader(), new Class<?>[]{type}, handler);
+	}
+
+	/**
+	 * Property-map backed handler: setX(value) stores, getX()/isX() reads back.
+	 */
+	private static class Fake implements InvocationHandler {
+		private Map<String, Object> properties;
+		
+		@Override
+		public final Object invoke(Object proxy, Method method, Object[] args) {
+			String name = method.getName();
+			if (name.equals("equals") && args != null && args.length == 1) return proxy == args[0];
+			if (name.equals("hashCode") && args == null) return System.identityHashCode(proxy);
+			if (name.equals("toString") && args == null) return "Fake" + proxy.getClass().getInterfaces()[0].getSimpleName();
+			
+			Object result = handle(proxy, name, args != null ? args : new Object[0]);
+			return result != null ? result : defaultValue(method.getReturnType());
+		}
+
+		Object handle(Object self, String name, Object[] args) {
+			if (name.startsWith("set") && args.length == 1) {
+				if (properties == null) properties = new HashMap<>(4);
+				properties.put(name.substring(3), args[0]);
+				return null;
+			}
+			if (properties != null && args.length == 0) {
+				if (name.startsWith("get")) return properties.get(name.substring(3));
+				if (name.startsWith("is")) return properties.get(name.substring(2));
+			}
+			return null;
+		}
+
+		private static Object defaultValue(Class<?> type) {
+			if (type == boolean.class) return false;
+			if (type == int.class) return 0;
+			if (type == long.class) return 0L;
+			if (type == double.class) return 0.0;
+			if (type == float.class) return 0.0f;
+			if (type == short.class) return (short) 0;
+			if (type == byte.class) return (byte) 0;
+			if (type == char.class) return (char) 0;
+			if (type == String.class) return "";
+			return null;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package kaiakk.multimedia.benchmarks;
+
+import kaiakk.multimedia.classes.SchedulerHelper;
+import kaiakk.multimedia.classes.ScoreBoards;
+import org.bukkit.entity.Player;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ScoreboardHeapBenchmark - Retained heap per player for a 15-line sidebar:
+ * one board per player (createScoreboard + setLine) against a shared template
+ * and a per-player template. Runs against FakeServer, so the numbers compare the
+ * approaches rather than matching a real server's footprint.
+ * Run with: gradle scoreboardHeap [-PscoreboardPlayers=1000]
+ */
+public final class ScoreboardHeapBenchmark {
+
+	private static final int LINES = 15;
+
+	private ScoreboardHeapBenchmark() {}
+
+	public static void main(String[] args) throws InterruptedException {
+		int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		FakeServer.install();
+		SchedulerHelper.setPlugin(FakeServer.plugin());
+		
+		ScoreBoards.Template shared = ScoreBoards.createTemplate("&6Lobby");
+		ScoreBoards.Template perPlayer = ScoreBoards.createTemplate("&6Lobby");
+		for (int line = 1; line <= LINES; line++) {
+			shared.line(line, "&7Line " + line);
+			if (line == 1) perPlayer.playerLine(line, p -> "&fName: " + p.getName());
+			else perPlayer.line(line, "&7Line " + line);
+		}
+		
+		// Warm up class loading and caches so they don't count against the first run
+		measure(50, player -> ScoreBoards.applyTemplate(player, shared));
+		
+		report("createScoreboard (one board each)", players, measure(players, player -> {
+			ScoreBoards.createScoreboard(player, "&6Lobby");
+			for (int line = 1; line <= LINES; line++) {
+				ScoreBoards.setLine(player, line, "&7Line " + line);
+			}
+		}));
+		report("shared template", players, measure(players, player -> ScoreBoards.applyTemplate(player, shared)));
+		report("per-player template", players, measure(players, player -> ScoreBoards.applyTemplate(player, perPlayer)));
+		System.exit(0);
+	}
+
+	private static long measure(int players, Consumer<Player> attach) throws InterruptedException {
+		Player[] online = new Player[players];
+		AtomicLong ignored = new AtomicLong();
+		for (int i = 0; i < players; i++) {
+			online[i] = FakeServer.player("Player" + i, ignored);
+		}
+		
+		long before = usedHeap();
+		for (Player player : online) {
+			attach.accept(player);
+		}
+		long after = usedHeap();
+		
+		ScoreBoards.clearAllScoreboards();
+		FakeServer.clearPlayers();
+		return after - before;
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private static void report(String name, int players, long bytes) {
+		System.out.printf("%-36s %8d players  %10d bytes  %8d bytes/player%n", name, players, bytes, bytes / players);
+	}
+}
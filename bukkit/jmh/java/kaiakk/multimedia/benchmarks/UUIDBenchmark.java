@@ -0,0 +1,121 @@
+package kaiakk.multimedia.benchmarks;
+
+import kaiakk.multimedia.classes.UUIDhelp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UUIDBenchmark - UUIDhelp's direct hex parsing/formatting against the substring and
+ * exception based versions it replaced (kept below as legacy* for comparison).
+ * Run with: gradle jmh -PjmhArgs="UUIDBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UUIDBenchmark {
+
+	private static final int SAMPLES = 1024;
+
+	private UUID[] uuids;
+	private String[] dashed;
+	private String[] compact;
+	private String[] invalid;
+	private int index;
+
+	@Setup
+	public void setup() {
+		uuids = new UUID[SAMPLES];
+		dashed = new String[SAMPLES];
+		compact = new String[SAMPLES];
+		invalid = new String[SAMPLES];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < SAMPLES; i++) {
+			uuids[i] = new UUID(random.nextLong(), random.nextLong());
+			dashed[i] = uuids[i].toString();
+			compact[i] = dashed[i].replace("-", "");
+			invalid[i] = "Notch" + i; // Player names passed where a UUID was expected
+		}
+	}
+
+	private int next() {
+		index = (index + 1) & (SAMPLES - 1);
+		return index;
+	}
+
+	@Benchmark
+	public UUID parseCompact() {
+		return UUIDhelp.parseCompactUUID(compact[next()]);
+	}
+
+	@Benchmark
+	public UUID parseCompactLegacy() {
+		return legacyParseCompactUUID(compact[next()]);
+	}
+
+	@Benchmark
+	public String formatCompact() {
+		return UUIDhelp.formatUUIDCompact(uuids[next()]);
+	}
+
+	@Benchmark
+	public String formatCompactLegacy() {
+		return legacyFormatUUIDCompact(uuids[next()]);
+	}
+
+	@Benchmark
+	public UUID parseDashed() {
+		return UUIDhelp.parseUUID(dashed[next()]);
+	}
+
+	@Benchmark
+	public UUID parseDashedLegacy() {
+		String value = dashed[next()];
+		return legacyIsValidUUID(value) ? UUID.fromString(value) : null;
+	}
+
+	@Benchmark
+	public boolean validateInvalid() {
+		return UUIDhelp.isValidUUID(invalid[next()]);
+	}
+
+	@Benchmark
+	public boolean validateInvalidLegacy() {
+		return legacyIsValidUUID(invalid[next()]);
+	}
+
+	private static boolean legacyIsValidUUID(String uuidString) {
+		if (uuidString == null || uuidString.trim().isEmpty()) return false;
+		
+		try {
+			UUID.fromString(uuidString);
+			return true;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	private static String legacyFormatUUIDCompact(UUID uuid) {
+		return uuid != null ? uuid.toString().replace("-", "") : null;
+	}
+
+	private static UUID legacyParseCompactUUID(String compactUuid) {
+		if (compactUuid == null || compactUuid.length() != 32) return null;
+		
+		try {
+			String formatted = compactUuid.substring(0, 8) + "-" +
+							   compactUuid.substring(8, 12) + "-" +
+							   compactUuid.substring(12, 16) + "-" +
+							   compactUuid.substring(16, 20) + "-" +
+							   compactUuid.substring(20, 32);
+			return UUID.fromString(formatted);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+}
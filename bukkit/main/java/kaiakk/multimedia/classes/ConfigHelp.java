@@ -4,7 +4,9 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Tiny helper to make using/generating `config.yml` extremely simple.
@@ -13,11 +15,13 @@ import java.util.Map;
  *   ConfigHelp.ensureDefaults(Map.of("path.some", "value", "other", 123));
  *   String s = ConfigHelp.getString("path.some", "fallback");
  *   ConfigHelp.set("path.some", "new");
+ *   ConfigHelp.addReloadListener(() -> rebuildCaches()); // runs after init and every reload
  */
 public final class ConfigHelp {
 
 	private static JavaPlugin plugin;
 	private static FileConfiguration cfg;
+	private static final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
 
 	private ConfigHelp() {}
 
@@ -30,6 +34,7 @@ public final class ConfigHelp {
 			plugin.saveDefaultConfig();
 		} catch (Throwable ignored) {}
 		cfg = plugin.getConfig();
+		fireReload();
 	}
 
 	/** Ensure the given defaults exist (won't overwrite existing values). */
@@ -85,11 +90,12 @@ public final class ConfigHelp {
 		return cfg.getStringList(path);
 	}
 
-	/** Set value and immediately save config. */
+	/** Set value and immediately save config. Reload listeners run too, so compiled values stay current. */
 	public static void set(String path, Object value) {
 		if (cfg == null) return;
 		cfg.set(path, value);
 		save();
+		fireReload();
 	}
 
 	public static void save() {
@@ -108,6 +114,27 @@ public final class ConfigHelp {
 			cfg = plugin.getConfig();
 		} catch (Throwable t) {
 			t.printStackTrace();
+			return;
+		}
+		fireReload();
+	}
+
+	/** Run a listener whenever the config is loaded (init), reloaded or changed through set, e.g. to rebuild compiled values. */
+	public static void addReloadListener(Runnable listener) {
+		if (listener != null) reloadListeners.add(listener);
+	}
+
+	public static void removeReloadListener(Runnable listener) {
+		reloadListeners.remove(listener);
+	}
+
+	private static void fireReload() {
+		for (Runnable listener : reloadListeners) {
+			try {
+				listener.run();
+			} catch (Throwable t) {
+				ConsoleLog.warn("Config reload listener failed: " + t.getMessage());
+			}
 		}
 	}
 
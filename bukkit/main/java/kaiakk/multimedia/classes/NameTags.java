@@ -0,0 +1,476 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scoreboard.*;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NameTags - Prefixes and suffixes above players' heads (and in the tab list).
+ * Players with the same prefix/suffix/color share one team, so the number of teams grows
+ * with the number of distinct styles rather than with players. Every team and its members
+ * are mirrored onto the main scoreboard and every ScoreBoards board, though, so with one
+ * board per player each board holds every player: O(players²) entries in total.
+ * Players are moved between teams incrementally, and a team is removed as soon as its
+ * last member leaves it. Teams on the main scoreboard are saved with the world, so call
+ * clearAll() on disable.
+ * Examples:
+ *   NameTags.setNameTag(player, "&c[Admin] ", "");
+ *   NameTags.setBelowName("&cHealth");
+ *   NameTags.setBelowNameScore(player, (int) player.getHealth());
+ */
+public final class NameTags {
+
+	private static final String TEAM_PREFIX = "mm_tag_";
+	private static final String BELOW_NAME_OBJECTIVE = "mm_below";
+	private static final int UNSET = Integer.MIN_VALUE;
+	private static final Method RESET_SCORE = findResetScore();
+
+	private static final Map<String, Style> styles = new ConcurrentHashMap<>();
+	private static final PlayerRegistry.Store<Style> playerStyles = PlayerRegistry.newStore();
+	private static final PlayerRegistry.IntStore belowNameScores = PlayerRegistry.newIntStore(UNSET);
+	// Boards that mirror the nametag teams; weak so dropped boards don't leak
+	private static final Set<Scoreboard> boards = Collections.newSetFromMap(new WeakHashMap<>());
+	private static final Object lock = new Object();
+	private static int nextTeamId = 0;
+	private static String belowNameTitle;
+	private static JavaPlugin plugin;
+
+	private NameTags() {}
+
+	/**
+	 * Initialize NameTags: removes players from their team when they quit, and drops
+	 * teams a previous run left on the main scoreboard.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		PlayerRegistry.init(pluginInstance);
+		removeLeftovers();
+		try {
+			Bukkit.getPluginManager().registerEvents(new QuitListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register NameTags listener: " + t.getMessage());
+		}
+	}
+
+	private static final class QuitListener implements Listener {
+		// Before PlayerRegistry clears the player's slot at MONITOR
+		@EventHandler(priority = EventPriority.HIGHEST)
+		public void onQuit(PlayerQuitEvent event) {
+			clearNameTag(event.getPlayer());
+			clearBelowNameScore(event.getPlayer());
+		}
+	}
+
+	/**
+	 * Set a player's nametag prefix and suffix.
+	 * @param player Target player
+	 * @param prefix Prefix (supports color codes with &, null for none)
+	 * @param suffix Suffix (supports color codes with &, null for none)
+	 * @return true if successful
+	 */
+	public static boolean setNameTag(Player player, String prefix, String suffix) {
+		return setNameTag(player, prefix, suffix, null);
+	}
+
+	/**
+	 * Set a player's nametag prefix, suffix and name color.
+	 * @param player Target player
+	 * @param prefix Prefix (supports color codes with &, null for none)
+	 * @param suffix Suffix (supports color codes with &, null for none)
+	 * @param color Name color (null for default)
+	 * @return true if successful
+	 */
+	public static boolean setNameTag(Player player, String prefix, String suffix, ChatColor color) {
+		if (player == null || PlayerRegistry.id(player) < 0) return false;
+		
+		String coloredPrefix = prefix != null ? ChatColor.translateAlternateColorCodes('&', prefix) : "";
+		String coloredSuffix = suffix != null ? ChatColor.translateAlternateColorCodes('&', suffix) : "";
+		String key = coloredPrefix + '\u0000' + coloredSuffix + '\u0000' + (color != null ? color.name() : "");
+		String entry = player.getName();
+		
+		try {
+			synchronized (lock) {
+				Style current = playerStyles.get(player);
+				if (current != null && current.key.equals(key)) return true;
+				
+				Style style = styles.get(key);
+				if (style == null) {
+					style = new Style(key, TEAM_PREFIX + (nextTeamId++), coloredPrefix, coloredSuffix, color);
+					styles.put(key, style);
+					for (Scoreboard board : allBoards()) {
+						style.apply(board);
+					}
+				}
+				
+				playerStyles.set(player, style);
+				style.members.add(entry);
+				for (Scoreboard board : allBoards()) {
+					style.team(board).addEntry(entry);
+				}
+				
+				if (current != null) {
+					leave(current, entry, false);
+				}
+			}
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to set nametag: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Remove a player's nametag.
+	 * @param player Target player
+	 * @return true if the player had one
+	 */
+	public static boolean clearNameTag(Player player) {
+		if (player == null) return false;
+		
+		try {
+			synchronized (lock) {
+				Style style = playerStyles.remove(player);
+				if (style == null) return false;
+				
+				leave(style, player.getName(), true);
+				return true;
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to clear nametag: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Get a player's nametag prefix.
+	 * @param player Target player
+	 * @return Prefix or null
+	 */
+	public static String getPrefix(Player player) {
+		Style style = playerStyles.get(player);
+		return style != null ? style.prefix : null;
+	}
+
+	/**
+	 * Get a player's nametag suffix.
+	 * @param player Target player
+	 * @return Suffix or null
+	 */
+	public static String getSuffix(Player player) {
+		Style style = playerStyles.get(player);
+		return style != null ? style.suffix : null;
+	}
+
+	/**
+	 * Get the number of distinct nametag styles (one team each).
+	 * @return Style count
+	 */
+	public static int getStyleCount() {
+		return styles.size();
+	}
+
+	/**
+	 * Show a score below every player's name (e.g. health or kills).
+	 * @param title Objective title (supports color codes with &, null removes it)
+	 */
+	public static void setBelowName(String title) {
+		synchronized (lock) {
+			belowNameTitle = title != null ? ChatColor.translateAlternateColorCodes('&', title) : null;
+			for (Scoreboard board : allBoards()) {
+				applyBelowName(board);
+			}
+		}
+	}
+
+	/**
+	 * Set the score shown below a player's name.
+	 * @param player Target player
+	 * @param score Score value
+	 */
+	public static void setBelowNameScore(Player player, int score) {
+		if (player == null) return;
+		
+		synchronized (lock) {
+			if (belowNameScores.get(player) == score) return;
+			belowNameScores.set(player, score);
+			if (belowNameTitle == null) return;
+			
+			for (Scoreboard board : allBoards()) {
+				Objective objective = board.getObjective(BELOW_NAME_OBJECTIVE);
+				if (objective != null) {
+					objective.getScore(player.getName()).setScore(score);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the score shown below a player's name.
+	 * @param player Target player
+	 */
+	public static void clearBelowNameScore(Player player) {
+		if (player == null) return;
+		
+		synchronized (lock) {
+			if (belowNameScores.get(player) == UNSET) return;
+			belowNameScores.reset(player);
+			for (Scoreboard board : allBoards()) {
+				Objective objective = board.getObjective(BELOW_NAME_OBJECTIVE);
+				if (objective != null) {
+					resetScore(board, objective, player.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reset one objective's score for an entry, leaving its other scores on the board.
+	 */
+	private static void resetScore(Scoreboard board, Objective objective, String entry) {
+		Score score = objective.getScore(entry);
+		if (RESET_SCORE != null) {
+			try {
+				RESET_SCORE.invoke(score);
+				return;
+			} catch (ReflectiveOperationException ignored) {}
+		}
+		if (!score.isScoreSet()) return;
+		
+		// resetScores clears every objective, so put the others back afterwards
+		Map<Objective, Integer> kept = new HashMap<>();
+		for (Score other : board.getScores(entry)) {
+			Objective owner = other.getObjective();
+			if (!owner.getName().equals(objective.getName())) {
+				kept.put(owner, other.getScore());
+			}
+		}
+		board.resetScores(entry);
+		for (Map.Entry<Objective, Integer> other : kept.entrySet()) {
+			other.getKey().getScore(entry).setScore(other.getValue());
+		}
+	}
+
+	private static Method findResetScore() {
+		try {
+			return Score.class.getMethod("resetScore");
+		} catch (NoSuchMethodException e) {
+			return null; // Not available before 1.20.4
+		}
+	}
+
+	/**
+	 * Remove nametag teams and the below-name objective that a previous run left on the
+	 * main scoreboard, so a recycled team name doesn't inherit their prefix or members.
+	 */
+	private static void removeLeftovers() {
+		try {
+			synchronized (lock) {
+				Scoreboard main = Bukkit.getScoreboardManager().getMainScoreboard();
+				Set<String> active = new HashSet<>();
+				for (Style style : styles.values()) {
+					active.add(style.teamName);
+				}
+				for (Team team : new ArrayList<>(main.getTeams())) {
+					if (team.getName().startsWith(TEAM_PREFIX) && !active.contains(team.getName())) {
+						team.unregister();
+					}
+				}
+				if (belowNameTitle == null) {
+					applyBelowName(main);
+				}
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to remove old nametag teams: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Mirror all nametag teams onto a scoreboard. ScoreBoards does this for every board it creates;
+	 * call it for scoreboards you create yourself.
+	 * @param board Scoreboard to keep in sync
+	 */
+	public static void registerBoard(Scoreboard board) {
+		if (board == null) return;
+		
+		try {
+			synchronized (lock) {
+				if (!boards.add(board)) return;
+				for (Style style : styles.values()) {
+					style.apply(board);
+				}
+				applyBelowName(board);
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to sync nametags: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Stop mirroring nametag teams onto a scoreboard.
+	 * @param board Scoreboard to forget
+	 */
+	public static void unregisterBoard(Scoreboard board) {
+		if (board == null) return;
+		
+		synchronized (lock) {
+			boards.remove(board);
+		}
+	}
+
+	/**
+	 * Remove every nametag team (cleanup on plugin disable).
+	 */
+	public static void clearAll() {
+		synchronized (lock) {
+			List<Scoreboard> targets = allBoards();
+			for (Style style : styles.values()) {
+				for (Scoreboard board : targets) {
+					removeTeam(board, style.teamName);
+				}
+			}
+			styles.clear();
+			playerStyles.clear();
+			belowNameScores.clear();
+			belowNameTitle = null;
+			for (Scoreboard board : targets) {
+				applyBelowName(board);
+			}
+			boards.clear();
+		}
+	}
+
+	private static void leave(Style style, String entry, boolean removeEntry) {
+		style.members.remove(entry);
+		boolean empty = style.members.isEmpty();
+		if (empty) {
+			styles.remove(style.key, style);
+		}
+
+		for (Scoreboard board : allBoards()) {
+			if (empty) {
+				removeTeam(board, style.teamName);
+			} else if (removeEntry) {
+				Team team = board.getTeam(style.teamName);
+				if (team != null) team.removeEntry(entry);
+			}
+		}
+	}
+
+	private static void removeTeam(Scoreboard board, String teamName) {
+		Team team = board.getTeam(teamName);
+		if (team != null) {
+			try {
+				team.unregister();
+			} catch (IllegalStateException ignored) {}
+		}
+	}
+
+	private static void applyBelowName(Scoreboard board) {
+		Objective objective = board.getObjective(BELOW_NAME_OBJECTIVE);
+		if (belowNameTitle == null) {
+			if (objective != null) objective.unregister();
+			return;
+		}
+
+		if (objective == null) {
+			@SuppressWarnings("deprecation")
+			Objective created = board.registerNewObjective(BELOW_NAME_OBJECTIVE, "dummy");
+			objective = created;
+			objective.setDisplaySlot(DisplaySlot.BELOW_NAME);
+		}
+		if (!belowNameTitle.equals(objective.getDisplayName())) {
+			objective.setDisplayName(belowNameTitle);
+		}
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			int score = belowNameScores.get(player);
+			if (score != UNSET) {
+				objective.getScore(player.getName()).setScore(score);
+			}
+		}
+	}
+
+	private static List<Scoreboard> allBoards() {
+		List<Scoreboard> targets = new ArrayList<>(boards.size() + 1);
+		try {
+			targets.add(Bukkit.getScoreboardManager().getMainScoreboard());
+		} catch (Throwable ignored) {}
+		targets.addAll(boards);
+		return targets;
+	}
+
+	/**
+	 * One distinct prefix/suffix/color combination, backed by one team per board.
+	 */
+	private static final class Style {
+		private final String key;
+		private final String teamName;
+		private final String prefix;
+		private final String suffix;
+		private final ChatColor color;
+		private final Set<String> members = ConcurrentHashMap.newKeySet();
+		
+		private Style(String key, String teamName, String prefix, String suffix, ChatColor color) {
+			this.key = key;
+			this.teamName = teamName;
+			this.prefix = prefix;
+			this.suffix = suffix;
+			this.color = color;
+		}
+
+		/**
+		 * Get this style's team on a board, creating it if needed.
+		 */
+		private Team team(Scoreboard board) {
+			Team team = board.getTeam(teamName);
+			return team != null ? team : apply(board);
+		}
+
+		/**
+		 * Create this style's team on a board with exactly its prefix, suffix, color and members.
+		 * A team already using the name (e.g. from an earlier run) is replaced, not reused.
+		 */
+		private Team apply(Scoreboard board) {
+			Team existing = board.getTeam(teamName);
+			if (existing != null) {
+				existing.unregister();
+			}
+			
+			Team team = board.registerNewTeam(teamName);
+			setText(team, prefix, true);
+			setText(team, suffix, false);
+			if (color != null) {
+				try {
+					team.setColor(color);
+				} catch (Throwable ignored) {} // Not available before 1.13
+			}
+			for (String entry : members) {
+				team.addEntry(entry);
+			}
+			return team;
+		}
+
+		private static void setText(Team team, String text, boolean isPrefix) {
+			try {
+				if (isPrefix) team.setPrefix(text);
+				else team.setSuffix(text);
+			} catch (IllegalArgumentException e) {
+				// Pre-1.13 servers cap prefixes and suffixes at 16 characters
+				String trimmed = text.length() > 16 ? text.substring(0, 16) : text;
+				if (isPrefix) team.setPrefix(trimmed);
+				else team.setSuffix(trimmed);
+			}
+		}
+	}
+}
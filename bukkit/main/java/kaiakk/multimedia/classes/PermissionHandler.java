@@ -2,6 +2,10 @@ package kaiakk.multimedia.classes;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.permissions.*;
 import org.bukkit.plugin.java.JavaPlugin;
 import java.util.*;
@@ -9,16 +13,38 @@ import java.util.*;
 /**
  * PermissionHandler - Easy permission management without boilerplate.
  * Supports individual and group permissions with simple API.
+ * Each player's attachment lives in a PlayerRegistry slot (indexed by the player's int id,
+ * safe from any thread) and is removed automatically when the player quits.
  */
 public final class PermissionHandler {
 
 	private static JavaPlugin plugin;
-	private static final Map<String, PermissionAttachment> attachments = new HashMap<>();
+	private static final PlayerRegistry.Store<PermissionAttachment> attachments = PlayerRegistry.newStore();
 
 	private PermissionHandler() {}
 
+	/**
+	 * Initialize PermissionHandler: removes a player's attachment when they quit.
+	 * @param pluginInstance Plugin instance
+	 */
 	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
 		plugin = pluginInstance;
+		PlayerRegistry.init(pluginInstance);
+		try {
+			Bukkit.getPluginManager().registerEvents(new QuitListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register PermissionHandler listener: " + t.getMessage());
+		}
+	}
+
+	private static final class QuitListener implements Listener {
+		// Before PlayerRegistry clears the player's slot at MONITOR
+		@EventHandler(priority = EventPriority.HIGHEST)
+		public void onQuit(PlayerQuitEvent event) {
+			clearPermissions(event.getPlayer());
+		}
 	}
 
 	/**
@@ -94,8 +120,7 @@ public final class PermissionHandler {
 		if (player == null) return false;
 		
 		try {
-			String key = player.getUniqueId().toString();
-			PermissionAttachment attachment = attachments.remove(key);
+			PermissionAttachment attachment = attachments.remove(player);
 			if (attachment != null) {
 				attachment.remove();
 			}
@@ -254,12 +279,9 @@ public final class PermissionHandler {
 			throw new IllegalStateException("PermissionHandler not initialized. Call init() first.");
 		}
 		
-		String key = player.getUniqueId().toString();
-		PermissionAttachment attachment = attachments.get(key);
-		
+		PermissionAttachment attachment = attachments.computeIfAbsent(player, p -> p.addAttachment(plugin));
 		if (attachment == null) {
-			attachment = player.addAttachment(plugin);
-			attachments.put(key, attachment);
+			throw new IllegalStateException("Player " + player.getName() + " is not online");
 		}
 		
 		return attachment;
@@ -269,16 +291,16 @@ public final class PermissionHandler {
 	 * Clean up attachments for offline players (call on plugin disable).
 	 */
 	public static void cleanup() {
-		for (PermissionAttachment attachment : attachments.values()) {
+		attachments.forEach(attachment -> {
 			try {
 				attachment.remove();
 			} catch (Throwable ignored) {}
-		}
+		});
 		attachments.clear();
 	}
 
 	/**
-	 * Remove attachment for a specific player when they leave.
+	 * Remove attachment for a specific player. Done automatically on quit after init().
 	 * @param player Player who left
 	 */
 	public static void removePlayerAttachment(Player player) {
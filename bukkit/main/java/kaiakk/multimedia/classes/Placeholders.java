@@ -0,0 +1,433 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.entity.Player;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Placeholders - Named {placeholders} for sidebar and tab text, resolved with caching.
+ * Each placeholder declares its scope and refresh interval; a value is only recomputed
+ * once its interval has passed or it was marked dirty. Global values are computed once
+ * and shared by every player. Dirty marks are tracked per placeholder (and per player for
+ * player placeholders) and reported to DirtyListeners, so renderers only refresh the
+ * texts and viewers that use the changed placeholder.
+ * Examples:
+ *   Placeholders.registerGlobal("online", 20, () -> String.valueOf(Bukkit.getOnlinePlayers().size()));
+ *   Placeholders.registerPlayer("kills", 0, p -> String.valueOf(stats.getKills(p))); // event-driven
+ *   Placeholders.markDirty("kills", player); // after a kill
+ *   String text = Placeholders.apply("&fOnline: {online}", player);
+ */
+public final class Placeholders {
+
+	private static final int MAX_CACHED_TEXTS = 512;
+
+	private static final Map<String, Placeholder> placeholders = new ConcurrentHashMap<>();
+	private static final Map<String, Text> compiledTexts = new ConcurrentHashMap<>();
+	private static final List<DirtyListener> dirtyListeners = new CopyOnWriteArrayList<>();
+	private static final AtomicLong dirtyCount = new AtomicLong();
+
+	private Placeholders() {}
+
+	/**
+	 * What a placeholder's value depends on.
+	 */
+	public enum Scope {
+		/** Same value for every player, computed once */
+		GLOBAL,
+		/** Computed separately for each player */
+		PLAYER
+	}
+
+	/**
+	 * Register a placeholder whose value is the same for every player.
+	 * @param key Placeholder name, used as {key}
+	 * @param intervalTicks Ticks a value stays valid (0 = only recompute when marked dirty)
+	 * @param supplier Value supplier
+	 * @return Registered placeholder
+	 */
+	public static Placeholder registerGlobal(String key, long intervalTicks, Supplier<String> supplier) {
+		if (key == null || supplier == null) return null;
+		return register(new Placeholder(normalize(key), Scope.GLOBAL, intervalTicks, supplier, null));
+	}
+
+	/**
+	 * Register a placeholder resolved separately for each player.
+	 * @param key Placeholder name, used as {key}
+	 * @param intervalTicks Ticks a value stays valid (0 = only recompute when marked dirty)
+	 * @param resolver Value resolver
+	 * @return Registered placeholder
+	 */
+	public static Placeholder registerPlayer(String key, long intervalTicks, Function<Player, String> resolver) {
+		if (key == null || resolver == null) return null;
+		return register(new Placeholder(normalize(key), Scope.PLAYER, intervalTicks, null, resolver));
+	}
+
+	private static Placeholder register(Placeholder placeholder) {
+		Placeholder previous = placeholders.put(placeholder.key, placeholder);
+		if (previous != null) previous.dispose();
+		compiledTexts.clear();
+		fireDirty(placeholder.key, null);
+		return placeholder;
+	}
+
+	/**
+	 * Unregister a placeholder.
+	 * @param key Placeholder name
+	 * @return true if it was registered
+	 */
+	public static boolean unregister(String key) {
+		if (key == null) return false;
+		
+		Placeholder removed = placeholders.remove(normalize(key));
+		if (removed == null) return false;
+		
+		removed.dispose();
+		compiledTexts.clear();
+		fireDirty(removed.key, null);
+		return true;
+	}
+
+	/**
+	 * Get a registered placeholder.
+	 * @param key Placeholder name
+	 * @return Placeholder or null
+	 */
+	public static Placeholder get(String key) {
+		if (key == null) return null;
+		return placeholders.get(normalize(key));
+	}
+
+	/**
+	 * Check if a placeholder is registered.
+	 * @param key Placeholder name
+	 * @return true if registered
+	 */
+	public static boolean isRegistered(String key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Get all registered placeholder names.
+	 * @return Placeholder names
+	 */
+	public static Set<String> getKeys() {
+		return new HashSet<>(placeholders.keySet());
+	}
+
+	/**
+	 * Force a placeholder to be recomputed (for every player) on its next use.
+	 * @param key Placeholder name
+	 */
+	public static void markDirty(String key) {
+		Placeholder placeholder = get(key);
+		if (placeholder != null) placeholder.markDirty();
+	}
+
+	/**
+	 * Force a placeholder to be recomputed for one player on its next use.
+	 * @param key Placeholder name
+	 * @param player Player whose value changed
+	 */
+	public static void markDirty(String key, Player player) {
+		Placeholder placeholder = get(key);
+		if (placeholder != null) placeholder.markDirty(player);
+	}
+
+	/**
+	 * Counter bumped every time something is marked dirty.
+	 * Renderers should use a DirtyListener to refresh only what changed.
+	 * @return Dirty counter
+	 */
+	public static long getDirtyCount() {
+		return dirtyCount.get();
+	}
+
+	/**
+	 * Get notified whenever a placeholder is marked dirty, registered or unregistered.
+	 * Listeners run on the thread that marked it, so they should only record what to refresh.
+	 * @param listener Listener
+	 */
+	public static void addDirtyListener(DirtyListener listener) {
+		if (listener != null) dirtyListeners.add(listener);
+	}
+
+	public static void removeDirtyListener(DirtyListener listener) {
+		dirtyListeners.remove(listener);
+	}
+
+	private static void fireDirty(String key, Player player) {
+		dirtyCount.incrementAndGet();
+		for (DirtyListener listener : dirtyListeners) {
+			try {
+				listener.onDirty(key, player);
+			} catch (Throwable t) {
+				ConsoleLog.warn("Placeholder dirty listener failed: " + t.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Told which placeholder changed, and for whom.
+	 */
+	@FunctionalInterface
+	public interface DirtyListener {
+		/**
+		 * @param key Normalized placeholder name
+		 * @param player Player whose value changed, or null if it changed for every player
+		 */
+		void onDirty(String key, Player player);
+	}
+
+	/**
+	 * Parse text into literal and placeholder segments once, for repeated resolving.
+	 * @param text Text containing {placeholders}
+	 * @return Compiled text
+	 */
+	public static Text compile(String text) {
+		return new Text(text != null ? text : "");
+	}
+
+	/**
+	 * Replace placeholders in text for a player. Parsed texts are cached.
+	 * @param text Text containing {placeholders}
+	 * @param player Player for player placeholders (null resolves those to "")
+	 * @return Resolved text
+	 */
+	public static String apply(String text, Player player) {
+		if (text == null) return null;
+		if (text.indexOf('{') < 0) return text;
+		
+		Text compiled = compiledTexts.get(text);
+		if (compiled == null) {
+			if (compiledTexts.size() >= MAX_CACHED_TEXTS) compiledTexts.clear();
+			compiled = compile(text);
+			compiledTexts.put(text, compiled);
+		}
+		return compiled.resolve(player);
+	}
+
+	private static String normalize(String key) {
+		return key.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * A named value with a scope and refresh interval.
+	 */
+	public static final class Placeholder {
+		private final String key;
+		private final Scope scope;
+		private final long intervalMs;
+		private final Supplier<String> supplier;
+		private final Function<Player, String> resolver;
+		private final PlayerRegistry.Store<Value> playerValues;
+		// Dirty marks: epoch for everyone, a per-player version for one player
+		private final PlayerRegistry.IntStore playerVersions;
+		private final AtomicInteger epoch = new AtomicInteger();
+		private volatile Value globalValue;
+		
+		private Placeholder(String key, Scope scope, long intervalTicks, Supplier<String> supplier, Function<Player, String> resolver) {
+			this.key = key;
+			this.scope = scope;
+			this.intervalMs = intervalTicks > 0 ? intervalTicks * 50L : 0L;
+			this.supplier = supplier;
+			this.resolver = resolver;
+			this.playerValues = scope == Scope.PLAYER ? PlayerRegistry.<Value>newStore() : null;
+			this.playerVersions = scope == Scope.PLAYER ? PlayerRegistry.newIntStore(0) : null;
+		}
+
+		public String getKey() { return key; }
+		public Scope getScope() { return scope; }
+
+		/**
+		 * Get the current value, recomputing it only if it expired or was marked dirty.
+		 * @param player Player for player placeholders
+		 * @return Value (never null)
+		 */
+		public String resolve(Player player) {
+			long now = System.currentTimeMillis();
+			int currentEpoch = epoch.get();
+			if (scope == Scope.GLOBAL) {
+				Value value = globalValue;
+				if (value == null || value.isStale(now, currentEpoch, 0)) {
+					value = new Value(compute(null, value), expiry(now), currentEpoch, 0);
+					globalValue = value;
+				}
+				return value.text;
+			}
+			
+			if (player == null) return "";
+			// Versions are read before computing, so a mark that lands meanwhile still counts
+			int version = playerVersions.get(player);
+			Value value = playerValues.get(player);
+			if (value == null || value.isStale(now, currentEpoch, version)) {
+				Value next = new Value(compute(player, value), expiry(now), currentEpoch, version);
+				playerValues.compareAndSet(player, value, next); // Lost races just recompute next time
+				return next.text;
+			}
+			return value.text;
+		}
+
+		/**
+		 * Recompute the value for every player on next use.
+		 */
+		public void markDirty() {
+			epoch.incrementAndGet();
+			fireDirty(key, null);
+		}
+
+		/**
+		 * Recompute one player's value on next use; other players keep theirs.
+		 */
+		public void markDirty(Player player) {
+			if (scope == Scope.GLOBAL) {
+				markDirty();
+				return;
+			}
+			if (player == null) return;
+			playerVersions.incrementAndGet(player);
+			fireDirty(key, player);
+		}
+
+		private String compute(Player player, Value previous) {
+			try {
+				String text = scope == Scope.GLOBAL ? supplier.get() : resolver.apply(player);
+				return text != null ? text : "";
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to resolve placeholder {" + key + "}: " + t.getMessage());
+				return previous != null ? previous.text : "";
+			}
+		}
+
+		private long expiry(long now) {
+			return intervalMs > 0 ? now + intervalMs : Long.MAX_VALUE;
+		}
+
+		private void dispose() {
+			globalValue = null;
+			if (playerValues != null) PlayerRegistry.removeStore(playerValues);
+			if (playerVersions != null) PlayerRegistry.removeStore(playerVersions);
+		}
+	}
+
+	private static final class Value {
+		private final String text;
+		private final long expiresAt;
+		private final int epoch;
+		private final int version;
+		
+		private Value(String text, long expiresAt, int epoch, int version) {
+			this.text = text;
+			this.expiresAt = expiresAt;
+			this.epoch = epoch;
+			this.version = version;
+		}
+
+		private boolean isStale(long now, int currentEpoch, int currentVersion) {
+			return now >= expiresAt || epoch != currentEpoch || version != currentVersion;
+		}
+	}
+
+	/**
+	 * Text parsed into literal and placeholder segments.
+	 * Unknown placeholders are left as written.
+	 */
+	public static final class Text {
+		private final String source;
+		private final String[] literals;
+		private final String[] keys;
+		private final String[] names;
+		
+		private Text(String source) {
+			this.source = source;
+			List<String> literalParts = new ArrayList<>();
+			List<String> keyParts = new ArrayList<>();
+			List<String> nameParts = new ArrayList<>();
+			
+			int start = 0;
+			int open = source.indexOf('{');
+			while (open >= 0) {
+				int close = source.indexOf('}', open + 1);
+				if (close < 0) break;
+				
+				String key = source.substring(open + 1, close);
+				if (key.isEmpty() || key.indexOf('{') >= 0 || key.indexOf(' ') >= 0) {
+					open = source.indexOf('{', open + 1);
+					continue;
+				}
+				literalParts.add(source.substring(start, open));
+				keyParts.add(normalize(key));
+				nameParts.add(key);
+				start = close + 1;
+				open = source.indexOf('{', start);
+			}
+			literalParts.add(source.substring(start));
+			
+			this.literals = literalParts.toArray(new String[0]);
+			this.keys = keyParts.toArray(new String[0]);
+			this.names = nameParts.toArray(new String[0]);
+		}
+
+		/**
+		 * @return true if the text contains any placeholder
+		 */
+		public boolean hasPlaceholders() {
+			return keys.length > 0;
+		}
+
+		/**
+		 * @param key Placeholder name
+		 * @return true if the text contains {key}
+		 */
+		public boolean uses(String key) {
+			if (key == null) return false;
+			String normalized = normalize(key);
+			for (String used : keys) {
+				if (used.equals(normalized)) return true;
+			}
+			return false;
+		}
+
+		/**
+		 * @return true if every placeholder is registered as GLOBAL, so the text is the same for everyone
+		 */
+		public boolean isGlobal() {
+			for (String key : keys) {
+				Placeholder placeholder = placeholders.get(key);
+				if (placeholder == null || placeholder.scope != Scope.GLOBAL) return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Resolve every placeholder for a player.
+		 * @param player Player for player placeholders (may be null for global-only text)
+		 * @return Resolved text
+		 */
+		public String resolve(Player player) {
+			if (keys.length == 0) return source;
+			
+			StringBuilder builder = new StringBuilder(source.length() + 16);
+			for (int i = 0; i < keys.length; i++) {
+				builder.append(literals[i]);
+				Placeholder placeholder = placeholders.get(keys[i]);
+				if (placeholder != null) {
+					builder.append(placeholder.resolve(player));
+				} else {
+					builder.append('{').append(names[i]).append('}');
+				}
+			}
+			builder.append(literals[keys.length]);
+			return builder.toString();
+		}
+
+		@Override
+		public String toString() {
+			return source;
+		}
+	}
+}
@@ -0,0 +1,534 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * PlayerRegistry - Maps online players to small dense int ids.
+ * Per-player data lives in Stores indexed by that id, so lookups are array reads
+ * instead of hashing UUIDs or building uuid.toString() keys.
+ * Ids are handed out on join and recycled on quit; every Store slot is cleared on quit and
+ * again when the id is handed out, and a quitting player can't be given a new id.
+ * Examples:
+ *   private static final PlayerRegistry.Store<Scoreboard> boards = PlayerRegistry.newStore();
+ *   boards.set(player, board);
+ *   Scoreboard board = boards.get(player);
+ */
+public final class PlayerRegistry {
+
+	private static final int INITIAL_CAPACITY = 64;
+	// Stores keep values in pages of 64 ids
+	private static final int PAGE_SHIFT = 6;
+	private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	private static final Map<UUID, Integer> ids = new ConcurrentHashMap<>();
+	private static final List<Store<?>> stores = new CopyOnWriteArrayList<>();
+	private static final List<IntStore> intStores = new CopyOnWriteArrayList<>();
+	// Players whose quit released their id; isOnline() stays true until the quit is done
+	private static final Set<UUID> quitting = ConcurrentHashMap.newKeySet();
+	private static final Object lock = new Object();
+	private static volatile UUID[] uuidsById = new UUID[INITIAL_CAPACITY];
+	private static int[] freeIds = new int[16];
+	private static int freeCount = 0;
+	private static int nextId = 0;
+	private static JavaPlugin plugin;
+
+	private PlayerRegistry() {}
+
+	/**
+	 * Initialize the registry: assigns ids on join and releases them on quit.
+	 * Safe to call more than once.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		try {
+			Bukkit.getPluginManager().registerEvents(new RegistryListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register PlayerRegistry listener: " + t.getMessage());
+		}
+
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			id(player);
+		}
+	}
+
+	private static final class RegistryListener implements Listener {
+		@EventHandler(priority = EventPriority.LOWEST)
+		public void onJoin(PlayerJoinEvent event) {
+			quitting.remove(event.getPlayer().getUniqueId());
+			id(event.getPlayer());
+		}
+
+		// MONITOR so every other quit handler can still read its stores
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onQuit(PlayerQuitEvent event) {
+			UUID uuid = event.getPlayer().getUniqueId();
+			// Later quit handlers and same-tick tasks must not register the player again
+			quitting.add(uuid);
+			release(uuid);
+			SchedulerHelper.runLater(plugin, () -> quitting.remove(uuid), 1L);
+		}
+	}
+
+	/**
+	 * Get the id of a player, assigning one if they are online and don't have one yet.
+	 * A player whose quit is being handled gets no new id.
+	 * @param player Target player
+	 * @return Id, or -1 if the player is null, offline or quitting
+	 */
+	public static int id(Player player) {
+		if (player == null) return -1;
+		
+		UUID uuid = player.getUniqueId();
+		Integer id = ids.get(uuid);
+		if (id != null) return id;
+		if (!player.isOnline() || quitting.contains(uuid)) return -1;
+		
+		synchronized (lock) {
+			id = ids.get(uuid);
+			if (id != null) return id;
+			if (quitting.contains(uuid)) return -1;
+			
+			int assigned = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+			// Drop anything written for the previous owner after its release
+			for (Store<?> store : stores) {
+				store.clear(assigned);
+			}
+			for (IntStore store : intStores) {
+				store.clear(assigned);
+			}
+			UUID[] current = uuidsById;
+			if (assigned >= current.length) {
+				current = Arrays.copyOf(current, Math.max(assigned + 1, current.length * 2));
+			}
+			current[assigned] = uuid;
+			uuidsById = current;
+			ids.put(uuid, assigned);
+			return assigned;
+		}
+	}
+
+	/**
+	 * Get the id of a player without assigning one.
+	 * @param uuid Player UUID
+	 * @return Id, or -1 if none is assigned
+	 */
+	public static int peek(UUID uuid) {
+		if (uuid == null) return -1;
+		Integer id = ids.get(uuid);
+		return id != null ? id : -1;
+	}
+
+	/**
+	 * Get the UUID that currently owns an id.
+	 * @param id Player id
+	 * @return UUID or null if the id is free
+	 */
+	public static UUID getUUID(int id) {
+		UUID[] current = uuidsById;
+		return id >= 0 && id < current.length ? current[id] : null;
+	}
+
+	/**
+	 * Get the online player that currently owns an id.
+	 * @param id Player id
+	 * @return Player or null
+	 */
+	public static Player getPlayer(int id) {
+		UUID uuid = getUUID(id);
+		return uuid != null ? Bukkit.getPlayer(uuid) : null;
+	}
+
+	/**
+	 * Check if a player currently has an id.
+	 * @param uuid Player UUID
+	 * @return true if registered
+	 */
+	public static boolean isRegistered(UUID uuid) {
+		return uuid != null && ids.containsKey(uuid);
+	}
+
+	/**
+	 * Get the number of registered players.
+	 * @return Registered player count
+	 */
+	public static int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Get the highest id handed out so far plus one (the length stores need).
+	 * @return Id capacity
+	 */
+	public static int capacity() {
+		synchronized (lock) {
+			return nextId;
+		}
+	}
+
+	/**
+	 * Release a player's id and clear their slot in every store.
+	 * Called automatically on quit once init() has run.
+	 * @param uuid Player UUID
+	 */
+	public static void release(UUID uuid) {
+		if (uuid == null) return;
+		
+		synchronized (lock) {
+			Integer id = ids.remove(uuid);
+			if (id == null) return;
+			
+			for (Store<?> store : stores) {
+				store.clear(id);
+			}
+			for (IntStore store : intStores) {
+				store.clear(id);
+			}
+			
+			uuidsById[id] = null;
+			if (freeCount == freeIds.length) {
+				freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+			}
+			freeIds[freeCount++] = id;
+		}
+	}
+
+	/**
+	 * Create a per-player object store.
+	 * @return New store
+	 */
+	public static <T> Store<T> newStore() {
+		Store<T> store = new Store<>();
+		stores.add(store);
+		return store;
+	}
+
+	/**
+	 * Forget a store that is no longer used, so quits stop clearing it.
+	 * @param store Store to remove
+	 */
+	public static void removeStore(Store<?> store) {
+		stores.remove(store);
+	}
+
+	/**
+	 * Forget an int store that is no longer used, so quits stop clearing it.
+	 * @param store Store to remove
+	 */
+	public static void removeStore(IntStore store) {
+		intStores.remove(store);
+	}
+
+	/**
+	 * Create a per-player int store.
+	 * @param defaultValue Value returned for players without an entry
+	 * @return New store
+	 */
+	public static IntStore newIntStore(int defaultValue) {
+		IntStore store = new IntStore(defaultValue);
+		intStores.add(store);
+		return store;
+	}
+
+	/**
+	 * Copy a page table with one more page. Tables are always copied, never written in place,
+	 * so lock-free readers only see a page once it is fully initialized.
+	 */
+	private static <P> P[] withPage(P[] table, int index, P page) {
+		P[] copy = Arrays.copyOf(table, index < table.length ? table.length : Math.max(index + 1, table.length * 2));
+		copy[index] = page;
+		return copy;
+	}
+
+	/**
+	 * Per-player object values indexed by player id, kept in fixed-size pages.
+	 * Pages are never replaced once created (growing only copies the page table), so a
+	 * lock-free write always lands in the live page. Reads and compareAndSet are lock-free;
+	 * other writes share the registry lock so they never race a release.
+	 */
+	public static final class Store<T> {
+		private volatile AtomicReferenceArray<T>[] pages = newPages(1);
+		
+		private Store() {}
+		
+		public T get(int id) {
+			AtomicReferenceArray<T> page = existingPage(id);
+			return page != null ? page.get(id & PAGE_MASK) : null;
+		}
+
+		public T get(Player player) {
+			if (player == null) return null;
+			return get(peek(player.getUniqueId()));
+		}
+
+		public T get(UUID uuid) {
+			return get(peek(uuid));
+		}
+
+		/**
+		 * Set a player's value.
+		 * @return Previous value or null
+		 */
+		public T set(Player player, T value) {
+			synchronized (lock) {
+				int id = id(player);
+				if (id < 0) return null;
+				return page(id).getAndSet(id & PAGE_MASK, value);
+			}
+		}
+
+		/**
+		 * Replace a player's value only if it is still the expected one, without the registry
+		 * lock. A write that raced the player's quit is undone and reported as failed.
+		 * @return true if the value was replaced
+		 */
+		public boolean compareAndSet(Player player, T expect, T update) {
+			if (player == null) return false;
+			
+			UUID uuid = player.getUniqueId();
+			int id = id(player);
+			if (id < 0) return false;
+			
+			AtomicReferenceArray<T> page = page(id);
+			int slot = id & PAGE_MASK;
+			if (!page.compareAndSet(slot, expect, update)) return false;
+			if (peek(uuid) == id) return true;
+			page.compareAndSet(slot, update, null); // The id was released meanwhile
+			return false;
+		}
+
+		/**
+		 * Get a player's value, creating it if absent.
+		 * @return Existing or created value (null if the player is offline)
+		 */
+		public T computeIfAbsent(Player player, Function<? super Player, ? extends T> factory) {
+			synchronized (lock) {
+				int id = id(player);
+				if (id < 0) return null;
+				
+				AtomicReferenceArray<T> page = page(id);
+				int slot = id & PAGE_MASK;
+				T value = page.get(slot);
+				if (value == null) {
+					value = factory.apply(player);
+					page.set(slot, value);
+				}
+				return value;
+			}
+		}
+
+		/**
+		 * Remove a player's value.
+		 * @return Removed value or null
+		 */
+		public T remove(Player player) {
+			if (player == null) return null;
+			return remove(peek(player.getUniqueId()));
+		}
+
+		public T remove(int id) {
+			synchronized (lock) {
+				AtomicReferenceArray<T> page = existingPage(id);
+				return page != null ? page.getAndSet(id & PAGE_MASK, null) : null;
+			}
+		}
+
+		public boolean contains(Player player) {
+			return get(player) != null;
+		}
+
+		/**
+		 * Run an action for every stored value.
+		 */
+		public void forEach(Consumer<? super T> action) {
+			forEachWithId((value, id) -> action.accept(value));
+		}
+
+		/**
+		 * Run an action for every stored value together with its player id.
+		 */
+		public void forEachWithId(ObjIntConsumer<? super T> action) {
+			AtomicReferenceArray<T>[] current = pages;
+			for (int p = 0; p < current.length; p++) {
+				AtomicReferenceArray<T> page = current[p];
+				if (page == null) continue;
+				for (int i = 0; i < PAGE_SIZE; i++) {
+					T value = page.get(i);
+					if (value != null) action.accept(value, p << PAGE_SHIFT | i);
+				}
+			}
+		}
+
+		/**
+		 * Remove every value.
+		 */
+		public void clear() {
+			synchronized (lock) {
+				for (AtomicReferenceArray<T> page : pages) {
+					if (page == null) continue;
+					for (int i = 0; i < PAGE_SIZE; i++) page.set(i, null);
+				}
+			}
+		}
+
+		private void clear(int id) {
+			remove(id);
+		}
+
+		private AtomicReferenceArray<T> existingPage(int id) {
+			if (id < 0) return null;
+			AtomicReferenceArray<T>[] current = pages;
+			int index = id >>> PAGE_SHIFT;
+			return index < current.length ? current[index] : null;
+		}
+
+		private AtomicReferenceArray<T> page(int id) {
+			AtomicReferenceArray<T> page = existingPage(id);
+			if (page != null) return page;
+			
+			synchronized (lock) {
+				int index = id >>> PAGE_SHIFT;
+				AtomicReferenceArray<T>[] current = pages;
+				if (index < current.length && current[index] != null) return current[index];
+				
+				AtomicReferenceArray<T> created = new AtomicReferenceArray<>(PAGE_SIZE);
+				pages = withPage(current, index, created);
+				return created;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> AtomicReferenceArray<T>[] newPages(int length) {
+			return (AtomicReferenceArray<T>[]) new AtomicReferenceArray[length];
+		}
+	}
+
+	/**
+	 * Per-player int values indexed by player id, kept in fixed-size pages like Store.
+	 * Reads and compareAndSet are lock-free; other writes share the registry lock.
+	 */
+	public static final class IntStore {
+		private final int defaultValue;
+		private volatile AtomicIntegerArray[] pages = new AtomicIntegerArray[1];
+		
+		private IntStore(int defaultValue) {
+			this.defaultValue = defaultValue;
+		}
+
+		public int get(int id) {
+			AtomicIntegerArray page = existingPage(id);
+			return page != null ? page.get(id & PAGE_MASK) : defaultValue;
+		}
+
+		public int get(Player player) {
+			if (player == null) return defaultValue;
+			return get(peek(player.getUniqueId()));
+		}
+
+		public void set(Player player, int value) {
+			synchronized (lock) {
+				int id = id(player);
+				if (id < 0) return;
+				page(id).set(id & PAGE_MASK, value);
+			}
+		}
+
+		/**
+		 * Replace a player's value only if it is still the expected one, without the registry
+		 * lock. A write that raced the player's quit is undone and reported as failed.
+		 * @return true if the value was replaced
+		 */
+		public boolean compareAndSet(Player player, int expect, int update) {
+			if (player == null) return false;
+			
+			UUID uuid = player.getUniqueId();
+			int id = id(player);
+			if (id < 0) return false;
+			
+			AtomicIntegerArray page = page(id);
+			int slot = id & PAGE_MASK;
+			if (!page.compareAndSet(slot, expect, update)) return false;
+			if (peek(uuid) == id) return true;
+			page.compareAndSet(slot, update, defaultValue); // The id was released meanwhile
+			return false;
+		}
+
+		/**
+		 * Add one to a player's value without taking the registry lock.
+		 * @return New value, or the default if the player is offline
+		 */
+		public int incrementAndGet(Player player) {
+			while (true) {
+				int id = id(player);
+				if (id < 0) return defaultValue;
+				
+				int value = get(id);
+				if (compareAndSet(player, value, value + 1)) return value + 1;
+			}
+		}
+
+		public void reset(Player player) {
+			if (player == null) return;
+			clear(peek(player.getUniqueId()));
+		}
+
+		public void clear() {
+			synchronized (lock) {
+				for (AtomicIntegerArray page : pages) {
+					if (page == null) continue;
+					for (int i = 0; i < PAGE_SIZE; i++) page.set(i, defaultValue);
+				}
+			}
+		}
+
+		private void clear(int id) {
+			synchronized (lock) {
+				AtomicIntegerArray page = existingPage(id);
+				if (page != null) page.set(id & PAGE_MASK, defaultValue);
+			}
+		}
+
+		private AtomicIntegerArray existingPage(int id) {
+			if (id < 0) return null;
+			AtomicIntegerArray[] current = pages;
+			int index = id >>> PAGE_SHIFT;
+			return index < current.length ? current[index] : null;
+		}
+
+		private AtomicIntegerArray page(int id) {
+			AtomicIntegerArray page = existingPage(id);
+			if (page != null) return page;
+			
+			synchronized (lock) {
+				int index = id >>> PAGE_SHIFT;
+				AtomicIntegerArray[] current = pages;
+				if (index < current.length && current[index] != null) return current[index];
+				
+				AtomicIntegerArray created = new AtomicIntegerArray(PAGE_SIZE);
+				if (defaultValue != 0) {
+					for (int i = 0; i < PAGE_SIZE; i++) created.set(i, defaultValue);
+				}
+				pages = withPage(current, index, created);
+				return created;
+			}
+		}
+	}
+}
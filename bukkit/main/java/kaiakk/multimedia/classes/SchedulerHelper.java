@@ -1,12 +1,15 @@
 package kaiakk.multimedia.classes;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Utility to simplify task scheduling without writing BukkitRunnable boilerplate.
@@ -22,6 +25,8 @@ public final class SchedulerHelper {
 	private static final BukkitScheduler scheduler = Bukkit.getScheduler();
 	private static final List<BukkitTask> trackedTasks = new ArrayList<>();
 	private static Plugin pluginInstance;
+	private static volatile Plugin tickCounterOwner;
+	private static volatile long serverTick;
 
 	public static void setPlugin(Plugin plugin) {
 		pluginInstance = plugin;
@@ -105,6 +110,115 @@ public final class SchedulerHelper {
 		return runAsyncTimer(plugin, task, secondsToTicks(delaySeconds), secondsToTicks(periodSeconds));
 	}
 
+	/**
+	 * Current server tick, counted by one shared task that runs every tick. Use it to stamp
+	 * per-tick budgets: unlike wall-clock time it never skips or repeats a tick when the
+	 * server lags. The task starts on first use; until a plugin is set this falls back to
+	 * wall-clock time in 50ms steps. It never goes backwards.
+	 * @return Current tick
+	 */
+	public static long currentTick() {
+		if (tickCounterOwner == null && !startTickCounter()) {
+			return System.currentTimeMillis() / 50L;
+		}
+		return serverTick;
+	}
+
+	private static synchronized boolean startTickCounter() {
+		if (tickCounterOwner != null) return true;
+		Plugin plugin = pluginInstance;
+		if (plugin == null) return false;
+		
+		serverTick = Math.max(serverTick, System.currentTimeMillis() / 50L); // Carry on from the fallback
+		runTimer(plugin, () -> serverTick++, 1L, 1L); // Only this task writes it from now on
+		tickCounterOwner = plugin;
+		return true;
+	}
+
+	/**
+	 * Check if the current thread is a server tick thread (never block here).
+	 * @return true on the main thread
+	 */
+	public static boolean isPrimaryThread() {
+		return Bukkit.isPrimaryThread();
+	}
+
+	/**
+	 * Check if the current thread owns an entity, i.e. may touch it directly.
+	 * @param entity Entity to check
+	 * @return true on the main thread
+	 */
+	public static boolean isOwnedByCurrentRegion(Entity entity) {
+		return Bukkit.isPrimaryThread();
+	}
+
+	/**
+	 * Check if the current thread owns a location, i.e. may touch blocks and entities there.
+	 * @param location Location to check
+	 * @return true on the main thread
+	 */
+	public static boolean isOwnedByCurrentRegion(Location location) {
+		return Bukkit.isPrimaryThread();
+	}
+
+	/**
+	 * Run a task on the thread that owns an entity (the main thread on Bukkit).
+	 * @param plugin Plugin instance
+	 * @param entity Entity the task works with
+	 * @param task Task to run
+	 */
+	public static void runAtEntity(Plugin plugin, Entity entity, Runnable task) {
+		if (plugin == null || task == null) return;
+		scheduler.runTask(plugin, task);
+	}
+
+	/**
+	 * Run a task on the thread that owns a location (the main thread on Bukkit).
+	 * @param plugin Plugin instance
+	 * @param location Location the task works with
+	 * @param task Task to run
+	 */
+	public static void runAtLocation(Plugin plugin, Location location, Runnable task) {
+		if (plugin == null || task == null) return;
+		scheduler.runTask(plugin, task);
+	}
+
+	/**
+	 * Executor that runs on the main thread, for CompletableFuture callbacks.
+	 * Falls back to the plugin passed to setPlugin() when plugin is null.
+	 * @throws IllegalStateException if there is neither, since tasks would silently never run
+	 */
+	public static Executor syncExecutor(Plugin plugin) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> run(owner, task);
+	}
+
+	/** Executor that runs on an async scheduler thread. */
+	public static Executor asyncExecutor(Plugin plugin) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAsync(owner, task);
+	}
+
+	/** Executor that runs on the thread owning an entity. */
+	public static Executor entityExecutor(Plugin plugin, Entity entity) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAtEntity(owner, entity, task);
+	}
+
+	/** Executor that runs on the thread owning a location. */
+	public static Executor regionExecutor(Plugin plugin, Location location) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAtLocation(owner, location, task);
+	}
+
+	private static Plugin executorOwner(Plugin plugin) {
+		Plugin owner = plugin != null ? plugin : pluginInstance;
+		if (owner == null) {
+			throw new IllegalStateException("No plugin for executor: pass one or call SchedulerHelper.setPlugin() first");
+		}
+		return owner;
+	}
+
 	public static BukkitTask runTracked(Plugin plugin, Runnable task) {
 		BukkitTask t = run(plugin, task);
 		if (t != null) trackedTasks.add(t);
@@ -136,6 +250,7 @@ public final class SchedulerHelper {
 
 	public static void cancelAllTasks(Plugin plugin) {
 		if (plugin == null) return;
+		if (plugin == tickCounterOwner) tickCounterOwner = null;
 		scheduler.cancelTasks(plugin);
 		trackedTasks.clear();
 	}
@@ -3,19 +3,51 @@ package kaiakk.multimedia.classes;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scoreboard.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * ScoreBoards - Easy scoreboard creation and management.
  * Simple API for titles, lines, and per-player scoreboards.
+ * Lines are rendered flicker-free: each line owns a fixed invisible entry whose text
+ * lives in a team prefix/suffix, and only lines whose text changed are sent again.
+ * Safe to call from any thread: board state is guarded per board, and changes to a
+ * player's board are applied on the thread that owns the player (entity scheduler on Folia).
+ * Templates and animations are all advanced by one shared task.
+ * Templates define a layout once and refresh every viewer in a single batched tick:
+ *   ScoreBoards.Template lobby = ScoreBoards.createTemplate("&6Lobby")
+ *       .line(3, "&7Welcome!")
+ *       .globalLine(2, () -> "&fOnline: " + Bukkit.getOnlinePlayers().size())
+ *       .playerLine(1, p -> "&fLevel: " + p.getLevel());
+ *   ScoreBoards.applyTemplate(player, lobby);
+ * Lines can also use cached {placeholders}: template.placeholderLine(4, "&fKills: {kills}");
  */
 public final class ScoreBoards {
 
-	private static final Map<UUID, Scoreboard> playerBoards = new HashMap<>();
-	private static final Map<UUID, Objective> playerObjectives = new HashMap<>();
-	private static final Map<UUID, Map<Integer, String>> boardLines = new HashMap<>();
+	private static final PlayerRegistry.Store<Board> playerBoards = PlayerRegistry.newStore();
+	private static final Set<Template> templates = ConcurrentHashMap.newKeySet();
+	private static final Set<Animation> animations = ConcurrentHashMap.newKeySet();
+	private static boolean driverStarted = false;
+	private static long templateTicks = 0;
+	// Set when a per-player board was marked dirty, so the next tick looks for it
+	private static volatile boolean dirtyBoards = false;
+
+	private static final int MAX_LINES = 15;
+	private static final String LINE_TEAM_PREFIX = "mm_line_";
+	private static final String[] LINE_ENTRIES = new String[MAX_LINES];
+	// 1.13+ accepts 64 characters per prefix/suffix; older servers throw and drop us to 16
+	private static volatile int teamTextLimit = 64;
+
+	static {
+		ChatColor[] colors = ChatColor.values();
+		for (int i = 0; i < MAX_LINES; i++) {
+			LINE_ENTRIES[i] = colors[i].toString() + ChatColor.RESET;
+		}
+		Placeholders.addDirtyListener(ScoreBoards::onPlaceholderDirty);
+	}
 
 	private ScoreBoards() {}
 
@@ -29,24 +61,16 @@ public final class ScoreBoards {
 		if (player == null || title == null) return null;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			
 			// Create new scoreboard
-			Scoreboard board = Bukkit.getScoreboardManager().getNewScoreboard();
-			@SuppressWarnings("deprecation")
-			Objective objective = board.registerNewObjective("multimedia", "dummy");
-			objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-			objective.setDisplayName(ChatColor.translateAlternateColorCodes('&', title));
+			Board board = new Board(ChatColor.translateAlternateColorCodes('&', title), false);
 			
 			// Store references
-			playerBoards.put(uuid, board);
-			playerObjectives.put(uuid, objective);
-			boardLines.put(uuid, new HashMap<>());
+			playerBoards.set(player, board);
 			
 			// Show to player
-			player.setScoreboard(board);
+			display(player, board);
 			
-			return objective;
+			return board.objective;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to create scoreboard: " + t.getMessage());
 			return null;
@@ -78,30 +102,18 @@ public final class ScoreBoards {
 	 * @return true if successful
 	 */
 	public static boolean setLine(Player player, int line, String text) {
-		if (player == null || line < 1 || line > 15) return false;
+		if (player == null || text == null || line < 1 || line > MAX_LINES) return false;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			Objective objective = playerObjectives.get(uuid);
-			Map<Integer, String> lines = boardLines.get(uuid);
+			Board board = playerBoards.get(player);
 			
-			if (objective == null || lines == null) {
+			if (board == null) {
 				ConsoleLog.warn("Scoreboard not found for " + player.getName());
 				return false;
 			}
 			
-			// Remove old line if exists
-			String oldText = lines.get(line);
-			if (oldText != null) {
-				objective.getScoreboard().resetScores(oldText);
-			}
-			
-			// Add new line
 			String colored = ChatColor.translateAlternateColorCodes('&', text);
-			Score score = objective.getScore(colored);
-			score.setScore(line);
-			
-			lines.put(line, colored);
+			update(player, board, () -> board.setLine(line, colored));
 			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to set scoreboard line: " + t.getMessage());
@@ -127,21 +139,15 @@ public final class ScoreBoards {
 	 * @return true if successful
 	 */
 	public static boolean removeLine(Player player, int line) {
-		if (player == null) return false;
+		if (player == null || line < 1 || line > MAX_LINES) return false;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			Objective objective = playerObjectives.get(uuid);
-			Map<Integer, String> lines = boardLines.get(uuid);
+			Board board = playerBoards.get(player);
 			
-			if (objective == null || lines == null) return false;
+			if (board == null || board.getLine(line) == null) return false;
 			
-			String text = lines.remove(line);
-			if (text != null) {
-				objective.getScoreboard().resetScores(text);
-				return true;
-			}
-			return false;
+			update(player, board, () -> board.removeLine(line));
+			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to remove scoreboard line: " + t.getMessage());
 			return false;
@@ -176,15 +182,15 @@ public final class ScoreBoards {
 		if (player == null || newTitle == null) return false;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			Objective objective = playerObjectives.get(uuid);
+			Board board = playerBoards.get(player);
 			
-			if (objective == null) {
+			if (board == null) {
 				ConsoleLog.warn("Scoreboard not found for " + player.getName());
 				return false;
 			}
 			
-			objective.setDisplayName(ChatColor.translateAlternateColorCodes('&', newTitle));
+			String colored = ChatColor.translateAlternateColorCodes('&', newTitle);
+			update(player, board, () -> board.setTitle(colored));
 			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to set scoreboard title: " + t.getMessage());
@@ -200,8 +206,8 @@ public final class ScoreBoards {
 	public static String getTitle(Player player) {
 		if (player == null) return null;
 		
-		Objective objective = playerObjectives.get(player.getUniqueId());
-		return objective != null ? objective.getDisplayName() : null;
+		Board board = playerBoards.get(player);
+		return board != null ? board.getTitle() : null;
 	}
 
 	/**
@@ -212,9 +218,9 @@ public final class ScoreBoards {
 	public static boolean showToPlayer(Player player) {
 		if (player == null) return false;
 		
-		Scoreboard board = playerBoards.get(player.getUniqueId());
+		Board board = playerBoards.get(player);
 		if (board != null) {
-			player.setScoreboard(board);
+			display(player, board);
 			return true;
 		}
 		return false;
@@ -229,7 +235,7 @@ public final class ScoreBoards {
 		if (player == null) return false;
 		
 		try {
-			player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
+			runForPlayer(player, () -> player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard()));
 			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to hide scoreboard: " + t.getMessage());
@@ -246,9 +252,9 @@ public final class ScoreBoards {
 		if (player == null) return false;
 		
 		Scoreboard current = player.getScoreboard();
-		Scoreboard playerBoard = playerBoards.get(player.getUniqueId());
+		Board board = playerBoards.get(player);
 		
-		if (current == playerBoard) {
+		if (board != null && current == board.scoreboard) {
 			hideFromPlayer(player);
 			return false;
 		} else {
@@ -266,18 +272,12 @@ public final class ScoreBoards {
 		if (player == null) return false;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			Objective objective = playerObjectives.get(uuid);
-			Map<Integer, String> lines = boardLines.get(uuid);
+			Board board = playerBoards.get(player);
 			
-			if (objective == null || lines == null) return false;
+			if (board == null) return false;
 			
 			// Remove all lines
-			for (String text : lines.values()) {
-				objective.getScoreboard().resetScores(text);
-			}
-			
-			lines.clear();
+			update(player, board, board::clearLines);
 			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to clear scoreboard lines: " + t.getMessage());
@@ -294,18 +294,14 @@ public final class ScoreBoards {
 		if (player == null) return false;
 		
 		try {
-			UUID uuid = player.getUniqueId();
-			
 			hideFromPlayer(player);
 			
-			Objective objective = playerObjectives.remove(uuid);
-			if (objective != null) {
-				objective.unregister();
+			// Shared template boards stay registered for their other viewers
+			Board board = playerBoards.remove(player);
+			if (board != null && !board.shared) {
+				update(player, board, board::unregister);
 			}
 			
-			playerBoards.remove(uuid);
-			boardLines.remove(uuid);
-			
 			return true;
 		} catch (Throwable t) {
 			ConsoleLog.warn("Failed to clear scoreboard: " + t.getMessage());
@@ -320,10 +316,15 @@ public final class ScoreBoards {
 		for (Player player : Bukkit.getOnlinePlayers()) {
 			clearScoreboard(player);
 		}
-		
+
 		playerBoards.clear();
-		playerObjectives.clear();
-		boardLines.clear();
+		for (Animation animation : animations) {
+			animation.stop();
+		}
+		for (Template template : templates) {
+			template.resetShared();
+		}
+		templates.clear();
 	}
 
 	/**
@@ -333,7 +334,7 @@ public final class ScoreBoards {
 	 */
 	public static boolean hasScoreboard(Player player) {
 		if (player == null) return false;
-		return playerBoards.containsKey(player.getUniqueId());
+		return playerBoards.contains(player);
 	}
 
 	/**
@@ -343,7 +344,9 @@ public final class ScoreBoards {
 	 */
 	public static Scoreboard getScoreboard(Player player) {
 		if (player == null) return null;
-		return playerBoards.get(player.getUniqueId());
+		
+		Board board = playerBoards.get(player);
+		return board != null ? board.scoreboard : null;
 	}
 
 	/**
@@ -353,7 +356,9 @@ public final class ScoreBoards {
 	 */
 	public static Objective getObjective(Player player) {
 		if (player == null) return null;
-		return playerObjectives.get(player.getUniqueId());
+		
+		Board board = playerBoards.get(player);
+		return board != null ? board.objective : null;
 	}
 
 	/**
@@ -364,8 +369,8 @@ public final class ScoreBoards {
 	public static Map<Integer, String> getLines(Player player) {
 		if (player == null) return Collections.emptyMap();
 		
-		Map<Integer, String> lines = boardLines.get(player.getUniqueId());
-		return lines != null ? new HashMap<>(lines) : Collections.emptyMap();
+		Board board = playerBoards.get(player);
+		return board != null ? board.getLines() : Collections.emptyMap();
 	}
 
 	/**
@@ -376,56 +381,715 @@ public final class ScoreBoards {
 	public static int getLineCount(Player player) {
 		if (player == null) return 0;
 		
-		Map<Integer, String> lines = boardLines.get(player.getUniqueId());
-		return lines != null ? lines.size() : 0;
+		Board board = playerBoards.get(player);
+		return board != null ? board.getLineCount() : 0;
 	}
 
 	/**
-	 * Create an animated title that cycles through values.
+	 * Create a sidebar template. Configure its lines before applying it.
+	 * @param title Scoreboard title (supports color codes with &)
+	 * @return New template
+	 */
+	public static Template createTemplate(String title) {
+		return new Template(title != null ? title : "");
+	}
+
+	/**
+	 * Show a template to a player. Templates without player lines put every viewer
+	 * on one shared scoreboard; setLine on such a player changes it for all viewers.
 	 * @param player Target player
-	 * @param titles Titles to cycle through
-	 * @param intervalTicks Ticks between changes
+	 * @param template Template to show
+	 * @return true if successful
 	 */
-	public static void animateTitle(Player player, List<String> titles, long intervalTicks) {
-		if (player == null || titles == null || titles.isEmpty()) return;
+	public static boolean applyTemplate(Player player, Template template) {
+		if (player == null || template == null) return false;
 		
-		final int[] index = {0};
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				if (!player.isOnline() || !hasScoreboard(player)) {
-					cancel();
-					return;
+		try {
+			ensureDriver();
+			templates.add(template);
+			
+			Board board = template.isShared()
+				? template.getSharedBoard()
+				: new Board(ChatColor.translateAlternateColorCodes('&', template.title), false);
+			board.template = template;
+			Board previous = playerBoards.set(player, board);
+			if (previous != null && previous != board && !previous.shared) {
+				update(player, previous, previous::unregister);
+			}
+			
+			if (board.shared) {
+				display(player, board);
+			} else {
+				update(player, board, () -> {
+					renderTemplate(player, board, template, true);
+					player.setScoreboard(board.scoreboard);
+				});
+			}
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to apply scoreboard template: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Get the template a player is viewing.
+	 * @param player Target player
+	 * @return Template or null
+	 */
+	public static Template getTemplate(Player player) {
+		if (player == null) return null;
+		
+		Board board = playerBoards.get(player);
+		return board != null ? board.template : null;
+	}
+
+	/**
+	 * Stop refreshing a template and remove it from all of its viewers.
+	 * @param template Template to remove
+	 */
+	public static void removeTemplate(Template template) {
+		if (template == null) return;
+		
+		templates.remove(template);
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (getTemplate(player) == template) {
+				clearScoreboard(player);
+			}
+		}
+		template.resetShared();
+	}
+
+	/**
+	 * Start the single task that drives every template and animation.
+	 */
+	private static synchronized void ensureDriver() {
+		if (driverStarted) return;
+		
+		Plugin plugin = SchedulerHelper.getPlugin();
+		if (plugin == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(plugin, () -> {
+			tickTemplates();
+			tickAnimations();
+		}, 1L, 1L);
+		driverStarted = true;
+	}
+
+	/**
+	 * A placeholder changed: mark only the templates (for everyone) or the one viewer's
+	 * board (for one player) that use it, to be refreshed on the next tick.
+	 */
+	private static void onPlaceholderDirty(String key, Player player) {
+		if (player == null) {
+			for (Template template : templates) {
+				if (template.uses(key)) template.dirty = true;
+			}
+			return;
+		}
+		
+		Board board = playerBoards.get(player);
+		Template template = board != null ? board.template : null;
+		if (template == null || !template.uses(key)) return;
+		if (board.shared) {
+			template.dirty = true;
+		} else {
+			board.dirty = true;
+			dirtyBoards = true;
+		}
+	}
+
+	/**
+	 * One pass for every template: global lines are resolved once per template,
+	 * then each viewer only resolves its own player lines on its own thread.
+	 * Templates whose interval is due or whose placeholders changed are refreshed for
+	 * all their viewers; a viewer marked dirty on its own is refreshed alone.
+	 */
+	private static void tickTemplates() {
+		if (templates.isEmpty()) return;
+		
+		long tick = ++templateTicks;
+		boolean anyPerPlayer = false;
+		for (Template template : templates) {
+			boolean due = tick % template.intervalTicks == 0;
+			if (template.dirty) {
+				template.dirty = false;
+				due = true;
+			}
+			template.due = due;
+			if (!due) continue;
+			
+			template.refreshGlobals();
+			if (template.isShared()) {
+				template.renderShared();
+			} else {
+				anyPerPlayer = true;
+			}
+		}
+		boolean checkDirty = dirtyBoards;
+		if (!anyPerPlayer && !checkDirty) return;
+		dirtyBoards = false;
+		
+		playerBoards.forEachWithId((board, id) -> {
+			Template template = board.template;
+			if (template == null || board.shared) return;
+			boolean render = template.due;
+			if (board.dirty) {
+				board.dirty = false;
+				render = true;
+			}
+			if (!render) return;
+			
+			Player player = PlayerRegistry.getPlayer(id);
+			if (player != null) {
+				update(player, board, () -> renderTemplate(player, board, template, false));
+			}
+		});
+	}
+
+	private static void renderTemplate(Player player, Board board, Template template, boolean includeStatic) {
+		for (int i = 0; i < MAX_LINES; i++) {
+			String text = null;
+			if (template.playerLines[i] != null) {
+				try {
+					String raw = template.playerLines[i].get(player);
+					if (raw != null) text = ChatColor.translateAlternateColorCodes('&', raw);
+				} catch (Throwable t) {
+					ConsoleLog.warn("Failed to resolve scoreboard line " + (i + 1) + ": " + t.getMessage());
 				}
-				
-				setTitle(player, titles.get(index[0]));
-				index[0] = (index[0] + 1) % titles.size();
+			} else if (template.globalLines[i] != null) {
+				text = template.globalValues[i];
+			} else if (includeStatic) {
+				text = template.staticLines[i];
+			}
+			
+			if (text != null) {
+				board.setLine(i + 1, text);
 			}
-		}.runTaskTimer(SchedulerHelper.getPlugin(), 0L, intervalTicks);
+		}
+	}
+
+	private static void display(Player player, Board board) {
+		runForPlayer(player, () -> player.setScoreboard(board.scoreboard));
+	}
+
+	/**
+	 * Apply a change to a board. Shared boards are changed in place; a player's own
+	 * board is changed on the thread that owns the player.
+	 */
+	private static void update(Player player, Board board, Runnable change) {
+		if (board.shared) {
+			change.run();
+		} else {
+			runForPlayer(player, change);
+		}
+	}
+
+	private static void runForPlayer(Player player, Runnable task) {
+		Plugin plugin = SchedulerHelper.getPlugin();
+		if (plugin == null || SchedulerHelper.isOwnedByCurrentRegion(player)) {
+			task.run();
+			return;
+		}
+
+		SchedulerHelper.runAtEntity(plugin, player, () -> {
+			try {
+				task.run();
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to update scoreboard: " + t.getMessage());
+			}
+		});
+	}
+
+	private static Team getLineTeam(Scoreboard board, int line) {
+		String name = LINE_TEAM_PREFIX + line;
+		Team team = board.getTeam(name);
+		if (team == null) {
+			team = board.registerNewTeam(name);
+			team.addEntry(LINE_ENTRIES[line - 1]);
+		}
+		return team;
+	}
+
+	/**
+	 * Split text across the team prefix and suffix, carrying colors into the suffix,
+	 * and only touch the parts that differ from what the client already has.
+	 */
+	private static void applyLineText(Team team, String text) {
+		int limit = teamTextLimit;
+		String prefix = text;
+		String suffix = "";
+		if (text.length() > limit) {
+			int cut = text.charAt(limit - 1) == ChatColor.COLOR_CHAR ? limit - 1 : limit;
+			prefix = text.substring(0, cut);
+			suffix = ChatColor.getLastColors(prefix) + text.substring(cut);
+			if (suffix.length() > limit) {
+				suffix = suffix.substring(0, limit);
+			}
+		}
+
+		try {
+			if (!prefix.equals(team.getPrefix())) team.setPrefix(prefix);
+			if (!suffix.equals(team.getSuffix())) team.setSuffix(suffix);
+		} catch (IllegalArgumentException e) {
+			if (limit <= 16) throw e;
+			teamTextLimit = 16;
+			applyLineText(team, text);
+		}
+	}
+
+	/**
+	 * Create an animated title that cycles through values.
+	 * Replaces any title animation already running for the player.
+	 * @param player Target player
+	 * @param titles Titles to cycle through
+	 * @param intervalTicks Ticks between changes
+	 * @return Animation handle, or null if nothing was started
+	 */
+	public static Animation animateTitle(Player player, List<String> titles, long intervalTicks) {
+		if (player == null || titles == null || titles.isEmpty()) return null;
+		return startAnimation(player, 0, titles, intervalTicks);
 	}
 
 	/**
 	 * Animate a specific line.
+	 * Replaces any animation already running on that line.
 	 * @param player Target player
 	 * @param lineNumber Line to animate
 	 * @param texts Texts to cycle through
 	 * @param intervalTicks Ticks between changes
+	 * @return Animation handle, or null if nothing was started
+	 */
+	public static Animation animateLine(Player player, int lineNumber, List<String> texts, long intervalTicks) {
+		if (player == null || texts == null || texts.isEmpty() || lineNumber < 1 || lineNumber > MAX_LINES) return null;
+		return startAnimation(player, lineNumber, texts, intervalTicks);
+	}
+
+	/**
+	 * Stop every animation running for a player.
+	 * @param player Target player
+	 */
+	public static void stopAnimations(Player player) {
+		if (player == null) return;
+		
+		UUID uuid = player.getUniqueId();
+		for (Animation animation : animations) {
+			if (animation.uuid.equals(uuid)) {
+				animation.stop();
+			}
+		}
+	}
+
+	/**
+	 * Get the number of running animations.
+	 * @return Animation count
+	 */
+	public static int getAnimationCount() {
+		return animations.size();
+	}
+
+	private static Animation startAnimation(Player player, int line, List<String> frames, long intervalTicks) {
+		int id = PlayerRegistry.id(player);
+		if (id < 0 || playerBoards.get(id) == null) return null;
+		
+		UUID uuid = player.getUniqueId();
+		for (Animation running : animations) {
+			if (running.line == line && running.uuid.equals(uuid)) {
+				running.stop();
+			}
+		}
+		
+		String[] colored = new String[frames.size()];
+		for (int i = 0; i < colored.length; i++) {
+			String frame = frames.get(i);
+			colored[i] = ChatColor.translateAlternateColorCodes('&', frame != null ? frame : "");
+		}
+		
+		Animation animation = new Animation(player, id, line, colored, Math.max(1L, intervalTicks));
+		ensureDriver();
+		animations.add(animation);
+		animation.advance();
+		return animation;
+	}
+
+	/**
+	 * Advance every running animation whose frame is due. Animations whose player
+	 * left or lost their scoreboard are dropped here, so nothing keeps ticking for them.
+	 */
+	private static void tickAnimations() {
+		if (animations.isEmpty()) return;
+		
+		for (Animation animation : animations) {
+			if (!animation.isAlive()) {
+				animation.stop();
+				continue;
+			}
+			if (--animation.countdown > 0) continue;
+			
+			animation.advance();
+		}
+	}
+
+	/**
+	 * Sidebar state for one player, or for every viewer of a shared template.
+	 * All changes go through its monitor, so region threads never see a half-updated board.
 	 */
-	public static void animateLine(Player player, int lineNumber, List<String> texts, long intervalTicks) {
-		if (player == null || texts == null || texts.isEmpty()) return;
+	private static final class Board {
+		private final Scoreboard scoreboard;
+		private final Objective objective;
+		private final String[] lines = new String[MAX_LINES];
+		private final boolean shared;
+		private volatile Template template;
+		private volatile boolean dirty;
 		
-		final int[] index = {0};
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				if (!player.isOnline() || !hasScoreboard(player)) {
-					cancel();
-					return;
+		private Board(String coloredTitle, boolean shared) {
+			this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+			@SuppressWarnings("deprecation")
+			Objective created = scoreboard.registerNewObjective("multimedia", "dummy");
+			created.setDisplaySlot(DisplaySlot.SIDEBAR);
+			created.setDisplayName(coloredTitle);
+			this.objective = created;
+			this.shared = shared;
+			NameTags.registerBoard(scoreboard);
+		}
+
+		/**
+		 * Write already-colored text to a line, sending nothing if it is unchanged.
+		 */
+		private synchronized void setLine(int line, String colored) {
+			String oldText = lines[line - 1];
+			if (colored.equals(oldText)) return;
+			
+			applyLineText(getLineTeam(scoreboard, line), colored);
+			if (oldText == null) {
+				objective.getScore(LINE_ENTRIES[line - 1]).setScore(line);
+			}
+			
+			lines[line - 1] = colored;
+		}
+
+		private synchronized String getLine(int line) {
+			return lines[line - 1];
+		}
+
+		private synchronized void removeLine(int line) {
+			if (lines[line - 1] == null) return;
+			
+			scoreboard.resetScores(LINE_ENTRIES[line - 1]);
+			lines[line - 1] = null;
+		}
+
+		private synchronized void clearLines() {
+			for (int i = 0; i < MAX_LINES; i++) {
+				if (lines[i] != null) {
+					scoreboard.resetScores(LINE_ENTRIES[i]);
+					lines[i] = null;
 				}
-				
-				setLine(player, lineNumber, texts.get(index[0]));
-				index[0] = (index[0] + 1) % texts.size();
 			}
-		}.runTaskTimer(SchedulerHelper.getPlugin(), 0L, intervalTicks);
+		}
+
+		private synchronized void setTitle(String colored) {
+			if (!colored.equals(objective.getDisplayName())) {
+				objective.setDisplayName(colored);
+			}
+		}
+
+		private synchronized String getTitle() {
+			return objective.getDisplayName();
+		}
+
+		private synchronized Map<Integer, String> getLines() {
+			Map<Integer, String> copy = new HashMap<>();
+			for (int i = 0; i < MAX_LINES; i++) {
+				if (lines[i] != null) copy.put(i + 1, lines[i]);
+			}
+			return copy;
+		}
+
+		private synchronized int getLineCount() {
+			int count = 0;
+			for (String line : lines) {
+				if (line != null) count++;
+			}
+			return count;
+		}
+
+		private synchronized void unregister() {
+			NameTags.unregisterBoard(scoreboard);
+			objective.unregister();
+		}
+	}
+
+	/**
+	 * A running title or line animation. Stops by itself when the player quits
+	 * or their scoreboard is cleared.
+	 */
+	public static final class Animation {
+		private final Player player;
+		private final int playerId;
+		private final UUID uuid;
+		private final int line;
+		private final String[] frames;
+		private final long intervalTicks;
+		private long countdown;
+		private int index;
+		private volatile boolean running = true;
+		
+		private Animation(Player player, int playerId, int line, String[] frames, long intervalTicks) {
+			this.player = player;
+			this.playerId = playerId;
+			this.uuid = player.getUniqueId();
+			this.line = line;
+			this.frames = frames;
+			this.intervalTicks = intervalTicks;
+		}
+
+		/**
+		 * Stop the animation; the current frame stays on the board.
+		 */
+		public void stop() {
+			running = false;
+			animations.remove(this);
+		}
+
+		public boolean isRunning() { return running; }
+		public Player getPlayer() { return player; }
+
+		/**
+		 * @return Animated line number, or 0 for the title
+		 */
+		public int getLine() { return line; }
+		
+		private boolean isAlive() {
+			return running && uuid.equals(PlayerRegistry.getUUID(playerId)) && playerBoards.get(playerId) != null;
+		}
+
+		private void advance() {
+			countdown = intervalTicks;
+			Board board = playerBoards.get(playerId);
+			if (board == null) return;
+			
+			String frame = frames[index];
+			index = (index + 1) % frames.length;
+			if (line == 0) {
+				update(player, board, () -> board.setTitle(frame));
+			} else {
+				update(player, board, () -> board.setLine(line, frame));
+			}
+		}
+	}
+
+	/**
+	 * Resolves a line for one viewer.
+	 */
+	@FunctionalInterface
+	public interface LineProvider {
+		String get(Player player);
+	}
+
+	/**
+	 * Sidebar layout shared by many players. Static lines are stored once,
+	 * global lines are resolved once per update, and player lines per viewer.
+	 */
+	public static final class Template {
+		private final String title;
+		private final String[] staticLines = new String[MAX_LINES];
+		@SuppressWarnings("unchecked")
+		private final Supplier<String>[] globalLines = (Supplier<String>[]) new Supplier[MAX_LINES];
+		private final LineProvider[] playerLines = new LineProvider[MAX_LINES];
+		private final String[] globalValues = new String[MAX_LINES];
+		private final Placeholders.Text[] placeholderTexts = new Placeholders.Text[MAX_LINES];
+		private long intervalTicks = 20;
+		private boolean hasPlayerLines = false;
+		private Board sharedBoard;
+		private volatile boolean dirty;
+		private boolean due; // Only touched by the driver
+		
+		private Template(String title) {
+			this.title = title;
+		}
+
+		/**
+		 * Set a fixed line.
+		 * @param line Line number (1-15, higher = top)
+		 * @param text Line text (supports color codes with &)
+		 * @return This template
+		 */
+		public Template line(int line, String text) {
+			int index = index(line);
+			staticLines[index] = text != null ? ChatColor.translateAlternateColorCodes('&', text) : null;
+			globalLines[index] = null;
+			placeholderTexts[index] = null;
+			setPlayerLine(index, null);
+			return this;
+		}
+
+		/**
+		 * Set a line that is the same for every viewer, resolved once per update.
+		 * @param line Line number (1-15, higher = top)
+		 * @param supplier Text supplier (supports color codes with &)
+		 * @return This template
+		 */
+		public Template globalLine(int line, Supplier<String> supplier) {
+			int index = index(line);
+			staticLines[index] = null;
+			globalLines[index] = supplier;
+			placeholderTexts[index] = null;
+			setPlayerLine(index, null);
+			return this;
+		}
+
+		/**
+		 * Set a line resolved separately for each viewer. Adding the first player line to a
+		 * template that is already shown moves its viewers onto their own boards.
+		 * @param line Line number (1-15, higher = top)
+		 * @param provider Text provider (supports color codes with &)
+		 * @return This template
+		 */
+		public Template playerLine(int line, LineProvider provider) {
+			int index = index(line);
+			staticLines[index] = null;
+			globalLines[index] = null;
+			placeholderTexts[index] = null;
+			setPlayerLine(index, provider);
+			return this;
+		}
+
+		/**
+		 * Set a line containing {placeholders} (see Placeholders). A line whose placeholders
+		 * are all global is resolved once per update for everyone, otherwise per viewer.
+		 * Cached placeholder values are reused until their own interval expires or they are
+		 * marked dirty, and only lines whose text changed are sent. Marking a placeholder dirty
+		 * refreshes only the templates (or, for one player, the viewer) that use it.
+		 * Register the placeholders before defining the line.
+		 * @param line Line number (1-15, higher = top)
+		 * @param text Line text (supports color codes with &)
+		 * @return This template
+		 */
+		public Template placeholderLine(int line, String text) {
+			Placeholders.Text compiled = Placeholders.compile(text);
+			if (!compiled.hasPlaceholders()) return line(line, text);
+			if (compiled.isGlobal()) globalLine(line, () -> compiled.resolve(null));
+			else playerLine(line, compiled::resolve);
+			placeholderTexts[index(line)] = compiled;
+			return this;
+		}
+
+		/**
+		 * Set how often dynamic lines are refreshed.
+		 * @param ticks Ticks between updates (default 20)
+		 * @return This template
+		 */
+		public Template updateEvery(long ticks) {
+			this.intervalTicks = Math.max(1L, ticks);
+			return this;
+		}
+
+		public String getTitle() { return title; }
+		public long getUpdateInterval() { return intervalTicks; }
+
+		/**
+		 * @return true if all viewers share one scoreboard (no player lines)
+		 */
+		public boolean isShared() { return !hasPlayerLines; }
+		
+		/**
+		 * @return true if one of the placeholder lines uses {key}
+		 */
+		private boolean uses(String key) {
+			for (Placeholders.Text text : placeholderTexts) {
+				if (text != null && text.uses(key)) return true;
+			}
+			return false;
+		}
+
+		private static int index(int line) {
+			if (line < 1 || line > MAX_LINES) {
+				throw new IllegalArgumentException("Line must be between 1 and " + MAX_LINES + ": " + line);
+			}
+			return line - 1;
+		}
+
+		private void setPlayerLine(int index, LineProvider provider) {
+			playerLines[index] = provider;
+			boolean any = false;
+			for (LineProvider lineProvider : playerLines) {
+				if (lineProvider != null) {
+					any = true;
+					break;
+				}
+			}
+			if (any == hasPlayerLines) return;
+			
+			hasPlayerLines = any;
+			if (templates.contains(this)) migrateViewers();
+		}
+
+		/**
+		 * The template switched between shared and per-player boards after it was applied:
+		 * move every viewer onto the right kind of board, then drop the old shared board.
+		 */
+		private void migrateViewers() {
+			Board oldShared;
+			synchronized (this) {
+				oldShared = sharedBoard;
+				sharedBoard = null;
+			}
+			
+			for (Player player : Bukkit.getOnlinePlayers()) {
+				if (getTemplate(player) == this) {
+					applyTemplate(player, this);
+				}
+			}
+			if (oldShared != null) oldShared.unregister();
+		}
+
+		private synchronized void refreshGlobals() {
+			for (int i = 0; i < MAX_LINES; i++) {
+				Supplier<String> supplier = globalLines[i];
+				if (supplier == null) continue;
+				try {
+					String raw = supplier.get();
+					globalValues[i] = raw != null ? ChatColor.translateAlternateColorCodes('&', raw) : null;
+				} catch (Throwable t) {
+					ConsoleLog.warn("Failed to resolve scoreboard line " + (i + 1) + ": " + t.getMessage());
+				}
+			}
+		}
+
+		private synchronized Board getSharedBoard() {
+			if (sharedBoard == null) {
+				Board board = new Board(ChatColor.translateAlternateColorCodes('&', title), true);
+				board.template = this;
+				refreshGlobals();
+				for (int i = 0; i < MAX_LINES; i++) {
+					String text = staticLines[i] != null ? staticLines[i] : globalValues[i];
+					if (text != null) board.setLine(i + 1, text);
+				}
+				sharedBoard = board;
+			}
+			return sharedBoard;
+		}
+
+		private synchronized void renderShared() {
+			if (sharedBoard == null) return;
+			for (int i = 0; i < MAX_LINES; i++) {
+				if (globalLines[i] != null && globalValues[i] != null) {
+					sharedBoard.setLine(i + 1, globalValues[i]);
+				}
+			}
+		}
+
+		private void resetShared() {
+			Board board;
+			synchronized (this) {
+				board = sharedBoard;
+				sharedBoard = null;
+			}
+			if (board != null) board.unregister();
+		}
 	}
 }
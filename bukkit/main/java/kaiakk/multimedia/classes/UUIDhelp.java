@@ -3,18 +3,43 @@ package kaiakk.multimedia.classes;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * UUIDhelp - UUID/username utilities with caching and Mojang API integration.
  * Makes player identification and lookup easy.
+ * Lookups on a tick thread never touch disk or the network: they are answered from
+ * the cache and online players, and a miss is resolved in the background.
+ * Examples:
+ *   UUIDhelp.lookupUUID("Notch").thenAcceptAsync(uuid -> {...}, SchedulerHelper.entityExecutor(plugin, player));
+ *   UUIDhelp.getUUIDAsync("Notch", SchedulerHelper.syncExecutor(plugin), uuid -> {...});
  */
 public final class UUIDhelp {
 
@@ -26,16 +51,275 @@ public final class UUIDhelp {
 	@SuppressWarnings("unused") // Reserved for future cache expiry feature
 	private static long cacheExpiryMs = 600000; // 10 minutes
 
+	// In-flight background lookups, so concurrent misses for one player share a single request
+	private static final Map<String, CompletableFuture<UUID>> pendingUuidLookups = new ConcurrentHashMap<>();
+	private static final Map<UUID, CompletableFuture<String>> pendingNameLookups = new ConcurrentHashMap<>();
+	private static final AtomicInteger resolverThreads = new AtomicInteger();
+	private static final ExecutorService RESOLVER = Executors.newFixedThreadPool(2, runnable -> {
+		Thread thread = new Thread(runnable, "Multimedia-UUID-Resolver-" + resolverThreads.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static volatile boolean debugBlockingCalls = false;
+	private static JavaPlugin plugin;
+
+	// Skin/texture profiles, kept in memory and under <data folder>/profiles
+	private static final Map<UUID, SkinProfile> profileCache = new ConcurrentHashMap<>();
+	private static final Map<UUID, CompletableFuture<SkinProfile>> pendingProfileLookups = new ConcurrentHashMap<>();
+	private static volatile long profileTtlMs = 6 * 60 * 60 * 1000L; // 6 hours
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) HEX_VALUES['0' + i] = (byte) i;
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
+
 	private UUIDhelp() {}
 
+	/**
+	 * Initialize UUIDhelp: keeps the cache in sync with joins/quits and warms it
+	 * from usercache.json in the background, so command name lookups hit the cache after boot.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		try {
+			Bukkit.getPluginManager().registerEvents(new CacheListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register UUIDhelp listener: " + t.getMessage());
+		}
+		
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			updateName(player.getUniqueId(), player.getName());
+		}
+		warmCache();
+	}
+
+	/**
+	 * Bulk-load the server's usercache.json into the cache on a background thread.
+	 * Falls back to Bukkit.getOfflinePlayers() when no usercache.json exists.
+	 * @return Future completing with the number of entries loaded
+	 */
+	public static CompletableFuture<Integer> warmCache() {
+		File userCache = findUserCache();
+		// Only snapshot offline players when there is nothing better to stream
+		OfflinePlayer[] offlinePlayers = null;
+		if (userCache == null && SchedulerHelper.isPrimaryThread()) {
+			try {
+				offlinePlayers = Bukkit.getOfflinePlayers();
+			} catch (Throwable ignored) {}
+		}
+		
+		final OfflinePlayer[] known = offlinePlayers;
+		CompletableFuture<Integer> result = new CompletableFuture<>();
+		try {
+			RESOLVER.execute(() -> {
+				long start = System.currentTimeMillis();
+				try {
+					int loaded = userCache != null ? loadUserCache(userCache) : loadOfflinePlayers(known);
+					String source = userCache != null ? userCache.getName() : "offline players";
+					ConsoleLog.info("[UUIDhelp] Warmed cache with " + loaded + " entries from " + source
+						+ " in " + (System.currentTimeMillis() - start) + "ms");
+					result.complete(loaded);
+				} catch (Throwable t) {
+					ConsoleLog.warn("Failed to warm UUID cache: " + t.getMessage());
+					result.complete(0);
+				}
+			});
+		} catch (Throwable t) {
+			result.complete(0);
+		}
+		return result;
+	}
+
+	private static File findUserCache() {
+		File local = new File("usercache.json");
+		if (local.isFile()) return local;
+		try {
+			File inContainer = new File(Bukkit.getWorldContainer(), "usercache.json");
+			if (inContainer.isFile()) return inContainer;
+		} catch (Throwable ignored) {}
+		return null;
+	}
+
+	/**
+	 * Stream a usercache.json file entry by entry (no full document parse).
+	 * Entries already in the cache are kept, since join events are fresher.
+	 * @param file usercache.json file
+	 * @return Number of entries added
+	 */
+	public static int loadUserCache(File file) throws java.io.IOException {
+		if (file == null || !file.isFile()) return 0;
+		
+		int loaded = 0;
+		try (JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(new FileInputStream(file), java.nio.charset.StandardCharsets.UTF_8)))) {
+			if (reader.peek() != JsonToken.BEGIN_ARRAY) return 0;
+			reader.beginArray();
+			while (reader.hasNext()) {
+				if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+					reader.skipValue();
+					continue;
+				}
+				String name = null;
+				UUID uuid = null;
+				reader.beginObject();
+				while (reader.hasNext()) {
+					String key = reader.nextName();
+					if ("name".equals(key) && reader.peek() == JsonToken.STRING) {
+						name = reader.nextString();
+					} else if ("uuid".equals(key) && reader.peek() == JsonToken.STRING) {
+						uuid = parseAnyUUID(reader.nextString());
+					} else {
+						reader.skipValue();
+					}
+				}
+				reader.endObject();
+				if (name != null && uuid != null && cacheIfAbsent(uuid, name)) loaded++;
+			}
+			reader.endArray();
+		}
+		return loaded;
+	}
+
+	private static int loadOfflinePlayers(OfflinePlayer[] players) {
+		if (players == null) return 0;
+		
+		int loaded = 0;
+		for (OfflinePlayer player : players) {
+			if (player == null) continue;
+			String name = player.getName();
+			if (name != null && cacheIfAbsent(player.getUniqueId(), name)) loaded++;
+		}
+		return loaded;
+	}
+
+	private static boolean cacheIfAbsent(UUID uuid, String playerName) {
+		if (uuid == null || playerName == null) return false;
+		if (uuidToNameCache.putIfAbsent(uuid, playerName) != null) return false;
+		nameToUuidCache.putIfAbsent(playerName.toLowerCase(), uuid);
+		return true;
+	}
+
+	/**
+	 * Record the current name of a player, dropping the mapping for a previous name.
+	 * @param uuid Player UUID
+	 * @param playerName Current player name
+	 */
+	private static void updateName(UUID uuid, String playerName) {
+		if (uuid == null || playerName == null) return;
+		String previous = uuidToNameCache.put(uuid, playerName);
+		if (previous != null && !previous.equalsIgnoreCase(playerName)) {
+			nameToUuidCache.remove(previous.toLowerCase(), uuid);
+		}
+		nameToUuidCache.put(playerName.toLowerCase(), uuid);
+	}
+
+	private static final class CacheListener implements Listener {
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+			updateName(event.getUniqueId(), event.getName());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onJoin(PlayerJoinEvent event) {
+			updateName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onQuit(PlayerQuitEvent event) {
+			updateName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+		}
+	}
+
 	/**
 	 * Get UUID for a player name (checks cache, then online players, then Mojang API).
+	 * On a tick thread only the cache and online players are checked; a miss returns null
+	 * and is resolved in the background so the next call hits the cache.
 	 * @param playerName Player name
 	 * @return UUID or null if not found
 	 */
 	public static UUID getUUID(String playerName) {
 		if (playerName == null || playerName.trim().isEmpty()) return null;
 		
+		UUID local = getLocalUUID(playerName);
+		if (local != null) return local;
+		
+		if (SchedulerHelper.isPrimaryThread()) {
+			reportBlockingCall("getUUID(" + playerName + ")");
+			resolveUUID(playerName);
+			return null;
+		}
+		
+		// Fetch from Mojang API
+		return fetchUUIDFromMojang(playerName);
+	}
+
+	/**
+	 * Get UUID synchronously. Off the tick threads a cache miss blocks on the Mojang API;
+	 * on a tick thread it never blocks and returns null instead (same guard as getUUID()).
+	 * @param playerName Player name
+	 * @return UUID or null
+	 */
+	public static UUID getUUIDSync(String playerName) {
+		return getUUID(playerName);
+	}
+
+	/**
+	 * Get UUID asynchronously. The callback runs on whichever thread finished the lookup.
+	 * @param playerName Player name
+	 * @param callback Callback with result
+	 */
+	public static void getUUIDAsync(String playerName, UUIDCallback callback) {
+		if (callback == null) return;
+		lookupUUID(playerName).thenAccept(callback::onResult);
+	}
+
+	/**
+	 * Get UUID asynchronously with the callback delivered on a chosen executor,
+	 * e.g. SchedulerHelper.entityExecutor(plugin, player) or SchedulerHelper.syncExecutor(plugin).
+	 * @param playerName Player name
+	 * @param executor Executor to deliver the callback on
+	 * @param callback Callback with result
+	 */
+	public static void getUUIDAsync(String playerName, Executor executor, UUIDCallback callback) {
+		if (callback == null) return;
+		if (executor == null) {
+			getUUIDAsync(playerName, callback);
+			return;
+		}
+		lookupUUID(playerName).thenAcceptAsync(callback::onResult, executor);
+	}
+
+	/**
+	 * Look up a UUID without ever blocking the calling thread.
+	 * Cache and online hits complete immediately; misses complete from the background resolver.
+	 * @param playerName Player name
+	 * @return Future completing with the UUID, or null if not found
+	 */
+	public static CompletableFuture<UUID> lookupUUID(String playerName) {
+		if (playerName == null || playerName.trim().isEmpty()) return CompletableFuture.completedFuture(null);
+		
+		UUID local = getLocalUUID(playerName);
+		if (local != null) return CompletableFuture.completedFuture(local);
+		return resolveUUID(playerName);
+	}
+
+	/**
+	 * Cache and online-player lookup only (never blocks).
+	 * @param playerName Player name
+	 * @return UUID or null if not known locally
+	 */
+	public static UUID getLocalUUID(String playerName) {
+		if (playerName == null || playerName.trim().isEmpty()) return null;
+		
 		String name = playerName.toLowerCase();
 		
 		// Check cache first
@@ -46,52 +330,106 @@ public final class UUIDhelp {
 		Player online = Bukkit.getPlayerExact(playerName);
 		if (online != null) {
 			UUID uuid = online.getUniqueId();
-			cacheUUID(name, uuid);
+			cacheName(uuid, online.getName());
 			return uuid;
 		}
+		return null;
+	}
+
+	private static CompletableFuture<UUID> resolveUUID(String playerName) {
+		String key = playerName.toLowerCase();
+		CompletableFuture<UUID> pending = pendingUuidLookups.get(key);
+		if (pending != null) return pending;
 		
-		// Check offline players
-		@SuppressWarnings("deprecation")
-		OfflinePlayer offline = Bukkit.getOfflinePlayer(playerName);
-		if (offline != null && offline.hasPlayedBefore()) {
-			UUID uuid = offline.getUniqueId();
-			cacheUUID(name, uuid);
-			return uuid;
+		CompletableFuture<UUID> created = new CompletableFuture<>();
+		pending = pendingUuidLookups.putIfAbsent(key, created);
+		if (pending != null) return pending;
+		
+		try {
+			RESOLVER.execute(() -> {
+				try {
+					UUID cached = nameToUuidCache.get(key);
+					created.complete(cached != null ? cached : fetchUUIDFromMojang(playerName));
+				} catch (Throwable t) {
+					created.completeExceptionally(t);
+				} finally {
+					pendingUuidLookups.remove(key, created);
+				}
+			});
+		} catch (Throwable t) {
+			pendingUuidLookups.remove(key, created);
+			created.completeExceptionally(t);
+		}
+		return created;
+	}
+
+	/**
+	 * Get username for a UUID.
+	 * On a tick thread the Mojang API is never called; a miss returns null
+	 * and is resolved in the background.
+	 * @param uuid Player UUID
+	 * @return Username or null
+	 */
+	public static String getUsername(UUID uuid) {
+		if (uuid == null) return null;
+		
+		String local = getLocalUsername(uuid);
+		if (local != null) return local;
+		
+		if (SchedulerHelper.isPrimaryThread()) {
+			reportBlockingCall("getUsername(" + uuid + ")");
+			resolveUsername(uuid);
+			return null;
 		}
 		
 		// Fetch from Mojang API
-		return fetchUUIDFromMojang(playerName);
+		return fetchUsernameFromMojang(uuid);
 	}
 
 	/**
-	 * Get UUID synchronously (blocks thread - use carefully).
-	 * @param playerName Player name
-	 * @return UUID or null
+	 * Get username asynchronously. The callback runs on whichever thread finished the lookup.
+	 * @param uuid Player UUID
+	 * @param callback Callback with result
 	 */
-	public static UUID getUUIDSync(String playerName) {
-		return getUUID(playerName);
+	public static void getUsernameAsync(UUID uuid, UsernameCallback callback) {
+		if (callback == null) return;
+		lookupUsername(uuid).thenAccept(callback::onResult);
 	}
 
 	/**
-	 * Get UUID asynchronously.
-	 * @param playerName Player name
+	 * Get username asynchronously with the callback delivered on a chosen executor.
+	 * @param uuid Player UUID
+	 * @param executor Executor to deliver the callback on
 	 * @param callback Callback with result
 	 */
-	public static void getUUIDAsync(String playerName, UUIDCallback callback) {
+	public static void getUsernameAsync(UUID uuid, Executor executor, UsernameCallback callback) {
 		if (callback == null) return;
+		if (executor == null) {
+			getUsernameAsync(uuid, callback);
+			return;
+		}
+		lookupUsername(uuid).thenAcceptAsync(callback::onResult, executor);
+	}
+
+	/**
+	 * Look up a username without ever blocking the calling thread.
+	 * @param uuid Player UUID
+	 * @return Future completing with the username, or null if not found
+	 */
+	public static CompletableFuture<String> lookupUsername(UUID uuid) {
+		if (uuid == null) return CompletableFuture.completedFuture(null);
 		
-		JavaUtilities.runAsync(() -> {
-			UUID uuid = getUUID(playerName);
-			callback.onResult(uuid);
-		});
+		String local = getLocalUsername(uuid);
+		if (local != null) return CompletableFuture.completedFuture(local);
+		return resolveUsername(uuid);
 	}
 
 	/**
-	 * Get username for a UUID.
+	 * Cache, online and offline-player lookup only (no network).
 	 * @param uuid Player UUID
-	 * @return Username or null
+	 * @return Username or null if not known locally
 	 */
-	public static String getUsername(UUID uuid) {
+	public static String getLocalUsername(UUID uuid) {
 		if (uuid == null) return null;
 		
 		// Check cache
@@ -106,63 +444,132 @@ public final class UUIDhelp {
 			return name;
 		}
 		
-		// Check offline players
-		OfflinePlayer offline = Bukkit.getOfflinePlayer(uuid);
-		if (offline != null && offline.hasPlayedBefore()) {
-			String name = offline.getName();
-			if (name != null) {
-				cacheName(uuid, name);
-				return name;
+		// Offline players by UUID only read local data, so this is safe on the main thread
+		if (SchedulerHelper.isPrimaryThread()) {
+			OfflinePlayer offline = Bukkit.getOfflinePlayer(uuid);
+			if (offline != null && offline.hasPlayedBefore()) {
+				String name = offline.getName();
+				if (name != null) {
+					cacheName(uuid, name);
+					return name;
+				}
 			}
 		}
+		return null;
+	}
+
+	private static CompletableFuture<String> resolveUsername(UUID uuid) {
+		CompletableFuture<String> pending = pendingNameLookups.get(uuid);
+		if (pending != null) return pending;
 		
-		// Fetch from Mojang API
-		return fetchUsernameFromMojang(uuid);
+		CompletableFuture<String> created = new CompletableFuture<>();
+		pending = pendingNameLookups.putIfAbsent(uuid, created);
+		if (pending != null) return pending;
+		
+		try {
+			RESOLVER.execute(() -> {
+				try {
+					String cached = uuidToNameCache.get(uuid);
+					created.complete(cached != null ? cached : fetchUsernameFromMojang(uuid));
+				} catch (Throwable t) {
+					created.completeExceptionally(t);
+				} finally {
+					pendingNameLookups.remove(uuid, created);
+				}
+			});
+		} catch (Throwable t) {
+			pendingNameLookups.remove(uuid, created);
+			created.completeExceptionally(t);
+		}
+		return created;
 	}
 
 	/**
-	 * Get username asynchronously.
-	 * @param uuid Player UUID
-	 * @param callback Callback with result
+	 * Log every lookup that would have blocked a tick thread (off by default).
+	 * @param enabled true to log blocking calls
 	 */
-	public static void getUsernameAsync(UUID uuid, UsernameCallback callback) {
-		if (callback == null) return;
+	public static void setDebugBlockingCalls(boolean enabled) {
+		debugBlockingCalls = enabled;
+	}
+
+	public static boolean isDebugBlockingCalls() {
+		return debugBlockingCalls;
+	}
+
+	private static void reportBlockingCall(String call) {
+		if (!debugBlockingCalls) return;
 		
-		JavaUtilities.runAsync(() -> {
-			String name = getUsername(uuid);
-			callback.onResult(name);
-		});
+		String caller = "unknown";
+		for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+			String cls = element.getClassName();
+			if (!cls.equals(UUIDhelp.class.getName()) && !cls.equals(Thread.class.getName())) {
+				caller = element.toString();
+				break;
+			}
+		}
+		ConsoleLog.warn("[UUIDhelp] Blocking lookup " + call + " on main thread " + Thread.currentThread().getName() + " from " + caller);
 	}
 
 	/**
-	 * Check if a string is a valid UUID format.
+	 * Check if a string is a valid UUID format (8-4-4-4-12 hex digits, no exceptions thrown).
 	 * @param uuidString UUID string to check
 	 * @return true if valid UUID format
 	 */
 	public static boolean isValidUUID(String uuidString) {
-		if (uuidString == null || uuidString.trim().isEmpty()) return false;
+		if (uuidString == null || uuidString.length() != 36) return false;
 		
-		try {
-			UUID.fromString(uuidString);
-			return true;
-		} catch (IllegalArgumentException e) {
-			return false;
+		for (int i = 0; i < 36; i++) {
+			char c = uuidString.charAt(i);
+			if (i == 8 || i == 13 || i == 18 || i == 23) {
+				if (c != '-') return false;
+			} else if (hexValue(c) < 0) {
+				return false;
+			}
 		}
+		return true;
 	}
 
 	/**
-	 * Parse UUID from string safely.
+	 * Check if a string is a valid compact UUID (32 hex digits, no dashes).
+	 * @param compactUuid Compact UUID string to check
+	 * @return true if valid compact UUID
+	 */
+	public static boolean isValidCompactUUID(String compactUuid) {
+		if (compactUuid == null || compactUuid.length() != 32) return false;
+		
+		for (int i = 0; i < 32; i++) {
+			if (hexValue(compactUuid.charAt(i)) < 0) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Parse UUID from string safely. Reads the hex digits straight into the
+	 * high/low bits instead of splitting the string.
 	 * @param uuidString UUID string
 	 * @return UUID or null if invalid
 	 */
 	public static UUID parseUUID(String uuidString) {
-		if (!isValidUUID(uuidString)) return null;
+		if (uuidString == null || uuidString.length() != 36) return null;
 		
-		try {
-			return UUID.fromString(uuidString);
-		} catch (IllegalArgumentException e) {
-			return null;
+		long most = 0;
+		long least = 0;
+		int digits = 0;
+		for (int i = 0; i < 36; i++) {
+			char c = uuidString.charAt(i);
+			if (i == 8 || i == 13 || i == 18 || i == 23) {
+				if (c != '-') return null;
+				continue;
+			}
+			int value = hexValue(c);
+			if (value < 0) return null;
+			if (digits++ < 16) {
+				most = (most << 4) | value;
+			} else {
+				least = (least << 4) | value;
+			}
 		}
+		return new UUID(most, least);
 	}
 
 	/**
@@ -180,7 +587,28 @@ public final class UUIDhelp {
 	 * @return Compact UUID string
 	 */
 	public static String formatUUIDCompact(UUID uuid) {
-		return uuid != null ? uuid.toString().replace("-", "") : null;
+		if (uuid == null) return null;
+		
+		char[] out = new char[32];
+		writeHex(out, 0, uuid.getMostSignificantBits());
+		writeHex(out, 16, uuid.getLeastSignificantBits());
+		return new String(out);
+	}
+
+	/**
+	 * Append a UUID in compact format without building an intermediate string.
+	 * @param builder Target builder
+	 * @param uuid UUID to append
+	 * @return The same builder
+	 */
+	public static StringBuilder appendUUIDCompact(StringBuilder builder, UUID uuid) {
+		if (builder == null || uuid == null) return builder;
+		
+		long most = uuid.getMostSignificantBits();
+		long least = uuid.getLeastSignificantBits();
+		for (int shift = 60; shift >= 0; shift -= 4) builder.append(HEX_DIGITS[(int) (most >>> shift) & 0xF]);
+		for (int shift = 60; shift >= 0; shift -= 4) builder.append(HEX_DIGITS[(int) (least >>> shift) & 0xF]);
+		return builder;
 	}
 
 	/**
@@ -191,15 +619,36 @@ public final class UUIDhelp {
 	public static UUID parseCompactUUID(String compactUuid) {
 		if (compactUuid == null || compactUuid.length() != 32) return null;
 		
-		try {
-			String formatted = compactUuid.substring(0, 8) + "-" +
-							   compactUuid.substring(8, 12) + "-" +
-							   compactUuid.substring(12, 16) + "-" +
-							   compactUuid.substring(16, 20) + "-" +
-							   compactUuid.substring(20, 32);
-			return UUID.fromString(formatted);
-		} catch (Exception e) {
-			return null;
+		long most = 0;
+		long least = 0;
+		for (int i = 0; i < 16; i++) {
+			int high = hexValue(compactUuid.charAt(i));
+			int low = hexValue(compactUuid.charAt(i + 16));
+			if ((high | low) < 0) return null;
+			most = (most << 4) | high;
+			least = (least << 4) | low;
+		}
+		return new UUID(most, least);
+	}
+
+	/**
+	 * Parse either a dashed or a compact UUID.
+	 * @param uuidString UUID string in either format
+	 * @return UUID or null if invalid
+	 */
+	public static UUID parseAnyUUID(String uuidString) {
+		if (uuidString == null) return null;
+		return uuidString.length() == 32 ? parseCompactUUID(uuidString) : parseUUID(uuidString);
+	}
+
+	private static int hexValue(char c) {
+		return c < 128 ? HEX_VALUES[c] : -1;
+	}
+
+	private static void writeHex(char[] out, int offset, long bits) {
+		for (int i = 15; i >= 0; i--) {
+			out[offset + i] = HEX_DIGITS[(int) bits & 0xF];
+			bits >>>= 4;
 		}
 	}
 
@@ -231,6 +680,7 @@ public final class UUIDhelp {
 	 */
 	public static UUID fetchUUIDFromMojang(String playerName) {
 		if (playerName == null || playerName.trim().isEmpty()) return null;
+		if (SchedulerHelper.isPrimaryThread()) reportBlockingCall("fetchUUIDFromMojang(" + playerName + ")");
 		
 		try {
 			URL url = new URL(MOJANG_API_UUID + playerName);
@@ -273,6 +723,7 @@ public final class UUIDhelp {
 	 */
 	public static String fetchUsernameFromMojang(UUID uuid) {
 		if (uuid == null) return null;
+		if (SchedulerHelper.isPrimaryThread()) reportBlockingCall("fetchUsernameFromMojang(" + uuid + ")");
 		
 		try {
 			String compactUuid = formatUUIDCompact(uuid);
@@ -330,6 +781,213 @@ public final class UUIDhelp {
 		nameToUuidCache.put(playerName.toLowerCase(), uuid);
 	}
 
+	/**
+	 * Get the skin/texture profile for a UUID. Served from memory, then the disk cache,
+	 * then sessionserver; fresh entries never touch the network.
+	 * If a refresh fails, the last known (expired) profile is returned instead.
+	 * @param uuid Player UUID
+	 * @return Future completing with the profile, or null if unavailable
+	 */
+	public static CompletableFuture<SkinProfile> getProfile(UUID uuid) {
+		if (uuid == null) return CompletableFuture.completedFuture(null);
+		
+		SkinProfile cached = profileCache.get(uuid);
+		if (cached != null && !cached.isExpired(profileTtlMs)) return CompletableFuture.completedFuture(cached);
+		
+		CompletableFuture<SkinProfile> pending = pendingProfileLookups.get(uuid);
+		if (pending != null) return pending;
+		
+		CompletableFuture<SkinProfile> created = new CompletableFuture<>();
+		pending = pendingProfileLookups.putIfAbsent(uuid, created);
+		if (pending != null) return pending;
+		
+		try {
+			RESOLVER.execute(() -> {
+				try {
+					created.complete(loadProfile(uuid, cached));
+				} catch (Throwable t) {
+					created.completeExceptionally(t);
+				} finally {
+					pendingProfileLookups.remove(uuid, created);
+				}
+			});
+		} catch (Throwable t) {
+			pendingProfileLookups.remove(uuid, created);
+			created.completeExceptionally(t);
+		}
+		return created;
+	}
+
+	/**
+	 * Get the skin/texture profile for a player name.
+	 * @param playerName Player name
+	 * @return Future completing with the profile, or null if unavailable
+	 */
+	public static CompletableFuture<SkinProfile> getProfile(String playerName) {
+		return lookupUUID(playerName).thenCompose(UUIDhelp::getProfile);
+	}
+
+	/**
+	 * Get the skin/texture profile with the result delivered on a chosen executor.
+	 * @param uuid Player UUID
+	 * @param executor Executor to deliver the callback on
+	 * @param callback Callback with result
+	 */
+	public static void getProfileAsync(UUID uuid, Executor executor, ProfileCallback callback) {
+		if (callback == null) return;
+		if (executor == null) {
+			getProfile(uuid).thenAccept(callback::onResult);
+		} else {
+			getProfile(uuid).thenAcceptAsync(callback::onResult, executor);
+		}
+	}
+
+	/**
+	 * Get a profile from memory only (never blocks, may be expired).
+	 * @param uuid Player UUID
+	 * @return Cached profile or null
+	 */
+	public static SkinProfile getCachedProfile(UUID uuid) {
+		return uuid != null ? profileCache.get(uuid) : null;
+	}
+
+	/**
+	 * Set how long fetched profiles stay fresh (memory and disk).
+	 * @param milliseconds Time to live in milliseconds
+	 */
+	public static void setProfileCacheTtl(long milliseconds) {
+		if (milliseconds > 0) profileTtlMs = milliseconds;
+	}
+
+	/**
+	 * Forget a cached profile so the next lookup refetches it.
+	 * @param uuid Player UUID
+	 */
+	public static void invalidateProfile(UUID uuid) {
+		if (uuid == null) return;
+		profileCache.remove(uuid);
+		File file = getProfileFile(uuid);
+		if (file != null && file.exists() && !file.delete()) {
+			ConsoleLog.warn("Failed to delete cached profile " + file.getName());
+		}
+	}
+
+	/**
+	 * Clear the in-memory profile cache (disk entries are kept until they expire).
+	 */
+	public static void clearProfileCache() {
+		profileCache.clear();
+	}
+
+	private static SkinProfile loadProfile(UUID uuid, SkinProfile stale) {
+		SkinProfile cached = profileCache.get(uuid);
+		if (cached != null && !cached.isExpired(profileTtlMs)) return cached;
+		
+		SkinProfile fromDisk = readProfileFile(uuid);
+		if (fromDisk != null && !fromDisk.isExpired(profileTtlMs)) {
+			profileCache.put(uuid, fromDisk);
+			return fromDisk;
+		}
+		
+		SkinProfile fetched = fetchProfileFromMojang(uuid);
+		if (fetched != null) {
+			profileCache.put(uuid, fetched);
+			writeProfileFile(fetched);
+			return fetched;
+		}
+		
+		// Keep serving the last known skin rather than flashing a default head
+		return stale != null ? stale : fromDisk;
+	}
+
+	/**
+	 * Fetch the full profile (with signed textures) from sessionserver.
+	 * Blocks on the network - use getProfile() instead on tick threads.
+	 * @param uuid Player UUID
+	 * @return Profile or null
+	 */
+	public static SkinProfile fetchProfileFromMojang(UUID uuid) {
+		if (uuid == null) return null;
+		if (SchedulerHelper.isPrimaryThread()) reportBlockingCall("fetchProfileFromMojang(" + uuid + ")");
+		
+		try {
+			StringBuilder target = new StringBuilder(MOJANG_API_NAME.length() + 48).append(MOJANG_API_NAME);
+			appendUUIDCompact(target, uuid).append("?unsigned=false");
+			HttpURLConnection conn = (HttpURLConnection) new URL(target.toString()).openConnection();
+			conn.setRequestMethod("GET");
+			conn.setConnectTimeout(5000);
+			conn.setReadTimeout(5000);
+			
+			if (conn.getResponseCode() != 200) return null;
+			
+			JsonObject json;
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+				json = new JsonParser().parse(reader).getAsJsonObject();
+			}
+			
+			String name = json.has("name") ? json.get("name").getAsString() : null;
+			String value = null;
+			String signature = null;
+			if (json.has("properties") && json.get("properties").isJsonArray()) {
+				JsonArray properties = json.getAsJsonArray("properties");
+				for (JsonElement element : properties) {
+					JsonObject property = element.getAsJsonObject();
+					if (property.has("name") && "textures".equals(property.get("name").getAsString())) {
+						value = property.has("value") ? property.get("value").getAsString() : null;
+						signature = property.has("signature") ? property.get("signature").getAsString() : null;
+						break;
+					}
+				}
+			}
+			
+			if (name != null) cacheName(uuid, name);
+			return SkinProfile.decode(uuid, name, value, signature, System.currentTimeMillis());
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to fetch profile from Mojang: " + t.getMessage());
+			return null;
+		}
+	}
+
+	private static File getProfileFile(UUID uuid) {
+		if (plugin == null) return null;
+		return new File(new File(plugin.getDataFolder(), "profiles"), formatUUIDCompact(uuid) + ".json");
+	}
+
+	private static SkinProfile readProfileFile(UUID uuid) {
+		File file = getProfileFile(uuid);
+		if (file == null || !file.isFile()) return null;
+		
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			JsonObject json = new JsonParser().parse(reader).getAsJsonObject();
+			String name = json.has("name") ? json.get("name").getAsString() : null;
+			String value = json.has("value") ? json.get("value").getAsString() : null;
+			String signature = json.has("signature") ? json.get("signature").getAsString() : null;
+			long fetchedAt = json.has("fetchedAt") ? json.get("fetchedAt").getAsLong() : 0L;
+			return SkinProfile.decode(uuid, name, value, signature, fetchedAt);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to read cached profile " + file.getName() + ": " + t.getMessage());
+			return null;
+		}
+	}
+
+	private static void writeProfileFile(SkinProfile profile) {
+		File file = getProfileFile(profile.getUuid());
+		if (file == null) return;
+		
+		JsonObject json = new JsonObject();
+		json.addProperty("id", formatUUIDCompact(profile.getUuid()));
+		if (profile.getName() != null) json.addProperty("name", profile.getName());
+		if (profile.getTexturesValue() != null) json.addProperty("value", profile.getTexturesValue());
+		if (profile.getTexturesSignature() != null) json.addProperty("signature", profile.getTexturesSignature());
+		json.addProperty("fetchedAt", profile.getFetchedAt());
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to write cached profile " + file.getName() + ": " + t.getMessage());
+		}
+	}
+
 	/**
 	 * Clear entire cache.
 	 */
@@ -436,6 +1094,86 @@ public final class UUIDhelp {
 		return result;
 	}
 
+	/**
+	 * A player's skin/texture profile. The raw textures value and signature can be
+	 * applied to player heads and NPCs; the decoded URLs are exposed for convenience.
+	 */
+	public static final class SkinProfile {
+		private final UUID uuid;
+		private final String name;
+		private final String texturesValue;
+		private final String texturesSignature;
+		private final String skinUrl;
+		private final String capeUrl;
+		private final boolean slim;
+		private final long fetchedAt;
+		
+		public SkinProfile(UUID uuid, String name, String texturesValue, String texturesSignature,
+						   String skinUrl, String capeUrl, boolean slim, long fetchedAt) {
+			this.uuid = uuid;
+			this.name = name;
+			this.texturesValue = texturesValue;
+			this.texturesSignature = texturesSignature;
+			this.skinUrl = skinUrl;
+			this.capeUrl = capeUrl;
+			this.slim = slim;
+			this.fetchedAt = fetchedAt;
+		}
+
+		/** Decode the Base64 textures property into skin/cape URLs. */
+		static SkinProfile decode(UUID uuid, String name, String value, String signature, long fetchedAt) {
+			String skinUrl = null;
+			String capeUrl = null;
+			boolean slim = false;
+			if (value != null) {
+				try {
+					JsonObject textures = new JsonParser().parse(Base64.decodeToString(value)).getAsJsonObject();
+					if (textures.has("textures")) {
+						JsonObject entries = textures.getAsJsonObject("textures");
+						if (entries.has("SKIN")) {
+							JsonObject skin = entries.getAsJsonObject("SKIN");
+							if (skin.has("url")) skinUrl = skin.get("url").getAsString();
+							if (skin.has("metadata")) {
+								JsonObject metadata = skin.getAsJsonObject("metadata");
+								slim = metadata.has("model") && "slim".equals(metadata.get("model").getAsString());
+							}
+						}
+						if (entries.has("CAPE") && entries.getAsJsonObject("CAPE").has("url")) {
+							capeUrl = entries.getAsJsonObject("CAPE").get("url").getAsString();
+						}
+					}
+				} catch (Throwable t) {
+					ConsoleLog.warn("Failed to decode textures for " + uuid + ": " + t.getMessage());
+				}
+			}
+			return new SkinProfile(uuid, name, value, signature, skinUrl, capeUrl, slim, fetchedAt);
+		}
+
+		public UUID getUuid() { return uuid; }
+		public String getName() { return name; }
+		public String getTexturesValue() { return texturesValue; }
+		public String getTexturesSignature() { return texturesSignature; }
+		public String getSkinUrl() { return skinUrl; }
+		public String getCapeUrl() { return capeUrl; }
+		public boolean isSlim() { return slim; }
+		public boolean hasTextures() { return texturesValue != null; }
+		public long getFetchedAt() { return fetchedAt; }
+		
+		public boolean isExpired(long ttlMs) {
+			return System.currentTimeMillis() - fetchedAt > ttlMs;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("SkinProfile[uuid=%s, name=%s, skin=%s, slim=%s]", uuid, name, skinUrl, slim);
+		}
+	}
+
+	@FunctionalInterface
+	public interface ProfileCallback {
+		void onResult(SkinProfile profile);
+	}
+
 	@FunctionalInterface
 	public interface UUIDCallback {
 		void onResult(UUID uuid);
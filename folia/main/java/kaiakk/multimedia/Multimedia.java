@@ -30,6 +30,7 @@ public final class Multimedia extends JavaPlugin {
         defaults.put("messages.welcome", "Welcome to Multimedia!");
         defaults.put("messages.unknown-subcommand", "Unknown subcommand. Usage: /multimedia [version]");
         defaults.put("logging.level", "INFO");
+        defaults.put("uuid.debug-blocking-calls", false);
         ConfigHelp.ensureDefaults(defaults);
         
         // Set log level from config
@@ -39,6 +40,18 @@ public final class Multimedia extends JavaPlugin {
         } catch (Exception e) {
             ConsoleLog.warn("Invalid log level in config: " + logLevelStr + ", using INFO");
         }
+
+        // Dense per-player ids used by the helpers' per-player stores
+        PlayerRegistry.init(this);
+        TabList.init(this);
+        NameTags.init(this);
+        VisualCreator.init(this);
+        Holograms.init(this);
+        PermissionHandler.init(this);
+
+        // Log UUID lookups that would block the main thread
+        UUIDhelp.setDebugBlockingCalls(ConfigHelp.getBoolean("uuid.debug-blocking-calls", false));
+        UUIDhelp.init(this);
         
         ConsoleLog.info("Welcome to Multimedia!");
         ConsoleLog.info("Loading library and classes..");
@@ -85,6 +98,10 @@ public final class Multimedia extends JavaPlugin {
     @Override
     public void onDisable() {
         ConsoleLog.info("Disabling Multimedia...");
+        Holograms.removeAll();
+        PermissionHandler.cleanup();
+        // Nametag teams on the main scoreboard would otherwise be saved with the world
+        NameTags.clearAll();
         // Cancel all scheduled tasks
         SchedulerHelper.cancelAllTasks(this);
         ConsoleLog.info("Goodbye!");
@@ -0,0 +1,398 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holograms - Floating text lines made of invisible marker armor stands.
+ * Holograms are indexed by chunk: their armor stands only exist while the chunk is loaded,
+ * are spawned when it loads and removed when it unloads, and are never saved with the world.
+ * Stands are tagged, so any a previous run failed to remove from loaded chunks are swept on init.
+ * All entity work runs on the thread that owns the chunk (its region on Folia).
+ * Examples:
+ *   Holograms.create("spawn", location, "&6Welcome!", "&7Type /help to start");
+ *   Holograms.setLines("spawn", "&6Welcome!", "&7Online: " + online);
+ *   Holograms.remove("spawn");
+ */
+public final class Holograms {
+
+	private static final double LINE_SPACING = 0.25;
+	private static final String STAND_TAG = "mm_hologram";
+
+	private static final Map<String, Hologram> holograms = new ConcurrentHashMap<>();
+	private static final Map<String, Set<Hologram>> byChunk = new ConcurrentHashMap<>();
+	private static final AtomicInteger spawnedEntities = new AtomicInteger();
+	// Holograms missing lines because of the entity cap, retried when stands are freed
+	private static final Set<Hologram> starved = ConcurrentHashMap.newKeySet();
+	private static volatile int maxEntities = 2000;
+	private static JavaPlugin plugin;
+
+	private Holograms() {}
+
+	/**
+	 * Initialize Holograms: spawns and removes hologram entities as chunks load and unload,
+	 * and removes stands a previous run left in chunks that are still loaded.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		try {
+			Bukkit.getPluginManager().registerEvents(new ChunkListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register Holograms listener: " + t.getMessage());
+		}
+		sweepLoadedChunks();
+	}
+
+	private static final class ChunkListener implements Listener {
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onChunkLoad(ChunkLoadEvent event) {
+			Set<Hologram> inChunk = byChunk.get(chunkKey(event.getChunk()));
+			if (inChunk == null) return;
+			for (Hologram hologram : inChunk) {
+				hologram.spawn();
+			}
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onChunkUnload(ChunkUnloadEvent event) {
+			Set<Hologram> inChunk = byChunk.get(chunkKey(event.getChunk()));
+			if (inChunk == null) return;
+			for (Hologram hologram : inChunk) {
+				hologram.despawn();
+			}
+		}
+	}
+
+	/**
+	 * Create a hologram, replacing any hologram with the same id.
+	 * @param id Hologram id
+	 * @param location Location of the top line
+	 * @param lines Lines, top first (supports color codes with &)
+	 * @return Hologram or null
+	 */
+	public static Hologram create(String id, Location location, String... lines) {
+		if (id == null || location == null || location.getWorld() == null) return null;
+		
+		remove(id);
+		Hologram hologram = new Hologram(id, location.clone(), colorize(lines));
+		holograms.put(id, hologram);
+		byChunk.computeIfAbsent(hologram.chunkKey, key -> ConcurrentHashMap.newKeySet()).add(hologram);
+		
+		World world = location.getWorld();
+		if (world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+			runAt(hologram.location, hologram::spawn);
+		}
+		return hologram;
+	}
+
+	/**
+	 * Get a hologram.
+	 * @param id Hologram id
+	 * @return Hologram or null
+	 */
+	public static Hologram get(String id) {
+		return id != null ? holograms.get(id) : null;
+	}
+
+	/**
+	 * Replace a hologram's lines. Only lines whose text changed are updated.
+	 * @param id Hologram id
+	 * @param lines Lines, top first (supports color codes with &)
+	 * @return true if the hologram exists
+	 */
+	public static boolean setLines(String id, String... lines) {
+		Hologram hologram = get(id);
+		if (hologram == null) return false;
+		
+		hologram.setLines(colorize(lines));
+		runAt(hologram.location, hologram::sync);
+		return true;
+	}
+
+	/**
+	 * Remove a hologram and its entities.
+	 * @param id Hologram id
+	 * @return true if it existed
+	 */
+	public static boolean remove(String id) {
+		if (id == null) return false;
+		
+		Hologram hologram = holograms.remove(id);
+		if (hologram == null) return false;
+		
+		Set<Hologram> inChunk = byChunk.get(hologram.chunkKey);
+		if (inChunk != null) {
+			inChunk.remove(hologram);
+			if (inChunk.isEmpty()) byChunk.remove(hologram.chunkKey, inChunk);
+		}
+		starved.remove(hologram);
+		if (!runAt(hologram.location, hologram::despawn)) {
+			hologram.despawn(); // Disabled plugins can't schedule; try before the stands are orphaned
+		}
+		return true;
+	}
+
+	/**
+	 * Remove every hologram (cleanup on plugin disable). Stands that can no longer be
+	 * scheduled on their region are removed right away; any that still survive are
+	 * swept by the next init().
+	 */
+	public static void removeAll() {
+		for (String id : new ArrayList<>(holograms.keySet())) {
+			remove(id);
+		}
+	}
+
+	/**
+	 * Get all hologram ids.
+	 * @return Hologram ids
+	 */
+	public static Set<String> getIds() {
+		return new HashSet<>(holograms.keySet());
+	}
+
+	/**
+	 * Get the number of holograms, spawned or not.
+	 * @return Hologram count
+	 */
+	public static int getCount() {
+		return holograms.size();
+	}
+
+	/**
+	 * Get the number of armor stands currently spawned for holograms.
+	 * @return Entity count
+	 */
+	public static int getEntityCount() {
+		return spawnedEntities.get();
+	}
+
+	/**
+	 * Cap the number of hologram armor stands across the server. Lines past the cap are not
+	 * spawned until stands are freed (or the cap is raised), then they are filled in.
+	 * @param max Maximum entity count (default 2000)
+	 */
+	public static void setMaxEntities(int max) {
+		maxEntities = Math.max(0, max);
+		retryStarved();
+	}
+
+	private static String chunkKey(Chunk chunk) {
+		return chunk.getWorld().getName() + ':' + chunk.getX() + ':' + chunk.getZ();
+	}
+
+	private static String[] colorize(String[] lines) {
+		if (lines == null) return new String[0];
+		String[] colored = new String[lines.length];
+		for (int i = 0; i < lines.length; i++) {
+			colored[i] = lines[i] != null ? ChatColor.translateAlternateColorCodes('&', lines[i]) : "";
+		}
+		return colored;
+	}
+
+	/**
+	 * @return false if the task could not be run or scheduled
+	 */
+	private static boolean runAt(Location location, Runnable task) {
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null || SchedulerHelper.isOwnedByCurrentRegion(location)) {
+			task.run();
+			return true;
+		}
+
+		try {
+			SchedulerHelper.runAtLocation(owner, location, task);
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to schedule hologram update: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Give holograms cut short by the entity cap another try, while there is room.
+	 */
+	private static void retryStarved() {
+		for (Hologram hologram : starved) {
+			if (spawnedEntities.get() >= maxEntities) return;
+			if (starved.remove(hologram)) runAt(hologram.location, hologram::sync);
+		}
+	}
+
+	private static void sweepLoadedChunks() {
+		try {
+			for (World world : Bukkit.getWorlds()) {
+				for (Chunk chunk : world.getLoadedChunks()) {
+					Location at = new Location(world, chunk.getX() << 4, 0, chunk.getZ() << 4);
+					runAt(at, () -> sweep(chunk));
+				}
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to sweep old hologram stands: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Remove tagged stands in a chunk that no live hologram owns.
+	 */
+	private static void sweep(Chunk chunk) {
+		if (!chunk.isLoaded()) return;
+		Set<Hologram> inChunk = byChunk.get(chunkKey(chunk));
+		for (Entity entity : chunk.getEntities()) {
+			if (!(entity instanceof ArmorStand) || !entity.getScoreboardTags().contains(STAND_TAG)) continue;
+			if (inChunk != null && owned(inChunk, (ArmorStand) entity)) continue;
+			entity.remove();
+		}
+	}
+
+	private static boolean owned(Set<Hologram> inChunk, ArmorStand stand) {
+		for (Hologram hologram : inChunk) {
+			if (hologram.owns(stand)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Floating text at one location. Lines are the desired state; stands are what is
+	 * spawned right now and only touched on the chunk's owning thread.
+	 */
+	public static final class Hologram {
+		private final String id;
+		private final Location location;
+		private final String chunkKey;
+		private final List<ArmorStand> stands = new ArrayList<>();
+		private volatile String[] lines;
+		
+		private Hologram(String id, Location location, String[] lines) {
+			this.id = id;
+			this.location = location;
+			this.chunkKey = location.getWorld().getName() + ':' + (location.getBlockX() >> 4) + ':' + (location.getBlockZ() >> 4);
+			this.lines = lines;
+		}
+
+		public String getId() { return id; }
+		public Location getLocation() { return location.clone(); }
+		public List<String> getLines() { return Arrays.asList(lines.clone()); }
+
+		/**
+		 * @return true if the hologram's entities are currently spawned
+		 */
+		public synchronized boolean isSpawned() {
+			return !stands.isEmpty();
+		}
+
+		private synchronized boolean owns(ArmorStand stand) {
+			return stands.contains(stand);
+		}
+
+		private void setLines(String[] lines) {
+			this.lines = lines;
+		}
+
+		private void spawn() {
+			if (isSpawned()) return;
+			sync();
+		}
+
+		/**
+		 * Bring the spawned stands in line with the current lines: rename changed lines,
+		 * spawn missing ones and remove extras. Lines the entity cap leaves out are retried
+		 * once stands are freed.
+		 */
+		private void sync() {
+			// Outside the lock, so retrying other holograms can't nest their locks in ours
+			if (syncStands()) retryStarved();
+		}
+
+		/**
+		 * @return true if stands were removed
+		 */
+		private synchronized boolean syncStands() {
+			if (holograms.get(id) != this) return false; // Removed or replaced
+			World world = location.getWorld();
+			if (world == null || !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) return false;
+			
+			String[] current = lines;
+			boolean freed = false;
+			try {
+				for (int i = 0; i < current.length; i++) {
+					ArmorStand stand = i < stands.size() ? stands.get(i) : null;
+					if (stand != null && stand.isValid()) {
+						if (!current[i].equals(stand.getCustomName())) {
+							stand.setCustomName(current[i]);
+							stand.setCustomNameVisible(!current[i].isEmpty());
+						}
+						continue;
+					}
+					if (stand == null && spawnedEntities.get() >= maxEntities) {
+						starved.add(this);
+						break;
+					}
+					
+					Location at = location.clone().subtract(0, i * LINE_SPACING, 0);
+					ArmorStand created = world.spawn(at, ArmorStand.class);
+					created.setVisible(false);
+					created.setMarker(true);
+					created.setGravity(false);
+					created.setInvulnerable(true);
+					created.setPersistent(false); // Never saved, so stands can't leak into the world
+					created.addScoreboardTag(STAND_TAG); // Found by the sweep if removing it ever fails
+					created.setCustomName(current[i]);
+					created.setCustomNameVisible(!current[i].isEmpty());
+					if (stand == null) {
+						stands.add(created);
+						spawnedEntities.incrementAndGet();
+					} else {
+						stands.set(i, created);
+					}
+				}
+				while (stands.size() > current.length) {
+					stands.remove(stands.size() - 1).remove();
+					spawnedEntities.decrementAndGet();
+					freed = true;
+				}
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to update hologram " + id + ": " + t.getMessage());
+			}
+			return freed;
+		}
+
+		private void despawn() {
+			if (despawnStands()) retryStarved();
+		}
+
+		/**
+		 * @return true if stands were removed
+		 */
+		private synchronized boolean despawnStands() {
+			for (ArmorStand stand : stands) {
+				try {
+					stand.remove();
+				} catch (Throwable ignored) {}
+			}
+			boolean freed = !stands.isEmpty();
+			spawnedEntities.addAndGet(-stands.size());
+			stands.clear();
+			return freed;
+		}
+	}
+}
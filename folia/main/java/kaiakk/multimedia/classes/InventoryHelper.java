@@ -16,7 +16,6 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,18 +25,6 @@ import java.util.Map;
  */
 public final class InventoryHelper {
 
-    private static final Map<String, String[]> MATERIAL_ALIASES = new HashMap<>();
-    
-    static {
-        // Map modern material names to their legacy equivalents
-        // Format: modern name -> [1.13+ name, 1.12 name, 1.7-1.8 name]
-        MATERIAL_ALIASES.put("OAK_PLANKS", new String[]{"OAK_PLANKS", "WOOD", "WOOD"});
-        MATERIAL_ALIASES.put("GLASS_PANE", new String[]{"GLASS_PANE", "THIN_GLASS", "THIN_GLASS"});
-        MATERIAL_ALIASES.put("EXPERIENCE_BOTTLE", new String[]{"EXPERIENCE_BOTTLE", "EXP_BOTTLE", "EXP_BOTTLE"});
-        MATERIAL_ALIASES.put("BLACK_STAINED_GLASS_PANE", new String[]{"BLACK_STAINED_GLASS_PANE", "STAINED_GLASS_PANE:15", "STAINED_GLASS_PANE"});
-        MATERIAL_ALIASES.put("PLAYER_HEAD", new String[]{"PLAYER_HEAD", "SKULL_ITEM:3", "SKULL_ITEM"});
-    }
-
 	private InventoryHelper() {}
 
 	public static Inventory createInventory(HumanEntity holder, String title, int rows) {
@@ -216,36 +203,10 @@ public final class InventoryHelper {
     }
 
     /**
-     * Try to get a Material from a name with version-aware fallbacks.
+     * Try to get a Material from a name with version-aware fallbacks (see NameResolver).
      */
     public static Material getMaterial(String name) {
-        if (name == null) return null;
-        String raw = name.trim().toUpperCase();
-        if (raw.isEmpty()) return null;
-        
-        // Check aliases first
-        String[] aliases = MATERIAL_ALIASES.get(raw);
-        if (aliases != null) {
-            for (String alias : aliases) {
-                try {
-                    // Handle data value syntax (e.g., "STAINED_GLASS_PANE:15")
-                    if (alias.contains(":")) {
-                        String[] parts = alias.split(":");
-                        return Material.valueOf(parts[0]);
-                    }
-                    return Material.valueOf(alias);
-                } catch (Throwable ignored) {}
-            }
-        }
-        
-        // Direct match
-        try { return Material.valueOf(raw); } catch (Throwable ignored) {}
-        
-        // Normalize separators
-        String normal = raw.replace('-', '_').replace(' ', '_').replace('.', '_');
-        try { return Material.valueOf(normal); } catch (Throwable ignored) {}
-        
-        return null;
+        return NameResolver.material(name);
     }
 
 }
\ No newline at end of file
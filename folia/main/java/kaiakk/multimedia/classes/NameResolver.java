@@ -0,0 +1,226 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NameResolver - Turns user-friendly names (config, commands) into Particle, Material,
+ * Sound and FireworkEffect.Type constants with version-aware aliases.
+ * Each enum gets an immutable lookup table on first use: constant names, normalized
+ * names and legacy aliases. Results, including misses, are cached per input string,
+ * so repeated lookups are one map read and never throw.
+ * Examples:
+ *   Sound sound = NameResolver.sound("entity.player.levelup");
+ *   Material material = NameResolver.material("EXP_BOTTLE"); // legacy name
+ *   Particle particle = NameResolver.particle("happy villager");
+ */
+public final class NameResolver {
+
+	private static final int MAX_CACHED_LOOKUPS = 2048;
+	private static final Object MISS = new Object();
+
+	private static final Map<Class<?>, Table<?>> tables = new ConcurrentHashMap<>();
+
+	private NameResolver() {}
+
+	/**
+	 * Resolve a particle name (case, separators and old/new names are handled).
+	 * @param name Particle name
+	 * @return Particle or null
+	 */
+	public static Particle particle(String name) {
+		return resolve(Particle.class, name);
+	}
+
+	/**
+	 * Resolve a material name, including legacy (pre-1.13) names.
+	 * @param name Material name
+	 * @return Material or null
+	 */
+	public static Material material(String name) {
+		return resolve(Material.class, name);
+	}
+
+	/**
+	 * Resolve a sound name, including legacy (1.7-1.8) names and close matches.
+	 * @param name Sound name (e.g. "ENTITY_PLAYER_LEVELUP" or "entity.player.levelup")
+	 * @return Sound or null
+	 */
+	public static Sound sound(String name) {
+		return resolve(Sound.class, name);
+	}
+
+	/**
+	 * Resolve a firework type name.
+	 * @param name Type name (e.g. "ball large")
+	 * @return Firework type or null
+	 */
+	public static FireworkEffect.Type fireworkType(String name) {
+		return resolve(FireworkEffect.Type.class, name);
+	}
+
+	/**
+	 * Resolve a constant of any enum by name.
+	 * @param type Enum class
+	 * @param name Constant name
+	 * @return Constant or null
+	 */
+	public static <E extends Enum<E>> E resolve(Class<E> type, String name) {
+		if (type == null || name == null) return null;
+		return table(type).lookup(name);
+	}
+
+	/**
+	 * Normalize a name the way lookups do: upper case, "minecraft:" stripped,
+	 * and '-', ' ' and '.' turned into '_'.
+	 * @param name Raw name
+	 * @return Normalized name
+	 */
+	public static String normalize(String name) {
+		String key = name.trim().toUpperCase(Locale.ROOT);
+		if (key.startsWith("MINECRAFT:")) key = key.substring(10);
+		return key.replace('-', '_').replace(' ', '_').replace('.', '_');
+	}
+
+	/**
+	 * Drop cached lookups (tables are kept).
+	 */
+	public static void clearCache() {
+		for (Table<?> table : tables.values()) {
+			table.lookups.clear();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends Enum<E>> Table<E> table(Class<E> type) {
+		return (Table<E>) tables.computeIfAbsent(type, key -> new Table<>(type, aliasesFor(type), type == Sound.class));
+	}
+
+	private static Map<String, String[]> aliasesFor(Class<?> type) {
+		Map<String, String[]> aliases = new HashMap<>();
+		if (type == Sound.class) {
+			// Format: modern name -> [1.9+ name, 1.8 name, 1.7 name, fallback]
+			aliases.put("ENTITY_PLAYER_LEVELUP", new String[]{"ENTITY_PLAYER_LEVELUP", "LEVEL_UP", "LEVEL_UP", "ORB_PICKUP"});
+			aliases.put("ENTITY_EXPERIENCE_ORB_PICKUP", new String[]{"ENTITY_EXPERIENCE_ORB_PICKUP", "ORB_PICKUP", "ORB_PICKUP", "CLICK"});
+			aliases.put("UI_BUTTON_CLICK", new String[]{"UI_BUTTON_CLICK", "CLICK", "CLICK", "WOOD_CLICK"});
+			aliases.put("BLOCK_NOTE_BLOCK_PLING", new String[]{"BLOCK_NOTE_BLOCK_PLING", "NOTE_PLING", "NOTE_PLING", "NOTE_PIANO"});
+			aliases.put("ENTITY_VILLAGER_YES", new String[]{"ENTITY_VILLAGER_YES", "VILLAGER_YES", "VILLAGER_YES", "VILLAGER_IDLE"});
+			aliases.put("ENTITY_VILLAGER_NO", new String[]{"ENTITY_VILLAGER_NO", "VILLAGER_NO", "VILLAGER_NO", "VILLAGER_IDLE"});
+			aliases.put("BLOCK_ANVIL_USE", new String[]{"BLOCK_ANVIL_USE", "ANVIL_USE", "ANVIL_USE", "ANVIL_LAND"});
+			aliases.put("ENTITY_ITEM_PICKUP", new String[]{"ENTITY_ITEM_PICKUP", "ITEM_PICKUP", "ITEM_PICKUP", "ITEM_PICKUP"});
+			aliases.put("BLOCK_CHEST_OPEN", new String[]{"BLOCK_CHEST_OPEN", "CHEST_OPEN", "CHEST_OPEN", "CHEST_OPEN"});
+			aliases.put("BLOCK_CHEST_CLOSE", new String[]{"BLOCK_CHEST_CLOSE", "CHEST_CLOSE", "CHEST_CLOSE", "CHEST_CLOSE"});
+		} else if (type == Material.class) {
+			// Format: modern name -> [1.13+ name, 1.12 name, 1.7-1.8 name]
+			aliases.put("OAK_PLANKS", new String[]{"OAK_PLANKS", "WOOD", "WOOD"});
+			aliases.put("GLASS_PANE", new String[]{"GLASS_PANE", "THIN_GLASS", "THIN_GLASS"});
+			aliases.put("EXPERIENCE_BOTTLE", new String[]{"EXPERIENCE_BOTTLE", "EXP_BOTTLE", "EXP_BOTTLE"});
+			aliases.put("BLACK_STAINED_GLASS_PANE", new String[]{"BLACK_STAINED_GLASS_PANE", "STAINED_GLASS_PANE:15", "STAINED_GLASS_PANE"});
+			aliases.put("PLAYER_HEAD", new String[]{"PLAYER_HEAD", "SKULL_ITEM:3", "SKULL_ITEM"});
+			// Legacy names used in old configs
+			aliases.put("WOOD", new String[]{"OAK_PLANKS", "WOOD"});
+			aliases.put("THIN_GLASS", new String[]{"GLASS_PANE", "THIN_GLASS"});
+			aliases.put("EXP_BOTTLE", new String[]{"EXPERIENCE_BOTTLE", "EXP_BOTTLE"});
+			aliases.put("SKULL_ITEM", new String[]{"PLAYER_HEAD", "SKULL_ITEM"});
+		} else if (type == Particle.class) {
+			// 1.20.5 renamed many particles; accept both spellings everywhere
+			String[][] renames = {
+				{"DUST", "REDSTONE"}, {"SMOKE", "SMOKE_NORMAL"}, {"LARGE_SMOKE", "SMOKE_LARGE"},
+				{"HAPPY_VILLAGER", "VILLAGER_HAPPY"}, {"ANGRY_VILLAGER", "VILLAGER_ANGRY"},
+				{"ENCHANT", "ENCHANTMENT_TABLE"}, {"FIREWORK", "FIREWORKS_SPARK"}, {"POOF", "EXPLOSION_NORMAL"},
+				{"EXPLOSION", "EXPLOSION_LARGE"}, {"EXPLOSION_EMITTER", "EXPLOSION_HUGE"}, {"BUBBLE", "WATER_BUBBLE"},
+				{"SPLASH", "WATER_SPLASH"}, {"FISHING", "WATER_WAKE"}, {"RAIN", "WATER_DROP"},
+				{"ITEM", "ITEM_CRACK"}, {"BLOCK", "BLOCK_CRACK"}, {"EFFECT", "SPELL"}, {"INSTANT_EFFECT", "SPELL_INSTANT"},
+				{"ENTITY_EFFECT", "SPELL_MOB"}, {"WITCH", "SPELL_WITCH"}, {"DRIPPING_WATER", "DRIP_WATER"},
+				{"DRIPPING_LAVA", "DRIP_LAVA"}, {"MYCELIUM", "TOWN_AURA"}, {"ITEM_SNOWBALL", "SNOWBALL"},
+				{"ITEM_SLIME", "SLIME"}, {"TOTEM_OF_UNDYING", "TOTEM"}, {"ELDER_GUARDIAN", "MOB_APPEARANCE"}
+			};
+			for (String[] pair : renames) {
+				aliases.put(pair[0], pair);
+				aliases.put(pair[1], new String[]{pair[1], pair[0]});
+			}
+		}
+		return aliases;
+	}
+
+	/**
+	 * Immutable name table for one enum, plus a bounded cache of raw lookups.
+	 */
+	private static final class Table<E extends Enum<E>> {
+		private final Map<String, E> names;
+		private final E[] values;
+		private final boolean fuzzy;
+		private final Map<String, Object> lookups = new ConcurrentHashMap<>();
+		
+		private Table(Class<E> type, Map<String, String[]> aliases, boolean fuzzy) {
+			this.values = type.getEnumConstants();
+			this.fuzzy = fuzzy;
+			
+			Map<String, E> byName = new HashMap<>(values.length * 2);
+			for (E value : values) {
+				byName.put(value.name(), value);
+			}
+			Map<String, E> table = new HashMap<>(byName);
+			// Separator-free spellings ("GRASSBLOCK", "UIBUTTONCLICK") unless they clash
+			Map<String, E> compact = new HashMap<>();
+			for (E value : values) {
+				String key = value.name().replace("_", "");
+				if (compact.containsKey(key)) compact.put(key, null);
+				else compact.put(key, value);
+			}
+			for (Map.Entry<String, E> entry : compact.entrySet()) {
+				if (entry.getValue() != null) table.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+			// Aliases win over plain names, first candidate that exists on this server
+			for (Map.Entry<String, String[]> entry : aliases.entrySet()) {
+				for (String candidate : entry.getValue()) {
+					int data = candidate.indexOf(':'); // e.g. "STAINED_GLASS_PANE:15"
+					E value = byName.get(data >= 0 ? candidate.substring(0, data) : candidate);
+					if (value != null) {
+						table.put(entry.getKey(), value);
+						break;
+					}
+				}
+			}
+			this.names = Collections.unmodifiableMap(table);
+		}
+
+		@SuppressWarnings("unchecked")
+		private E lookup(String raw) {
+			Object cached = lookups.get(raw);
+			if (cached != null) return cached == MISS ? null : (E) cached;
+			
+			E value = find(raw);
+			if (lookups.size() >= MAX_CACHED_LOOKUPS) lookups.clear();
+			lookups.put(raw, value != null ? value : MISS);
+			return value;
+		}
+
+		private E find(String raw) {
+			if (raw.trim().isEmpty()) return null;
+			
+			String key = normalize(raw);
+			E value = names.get(key);
+			if (value != null) return value;
+			
+			String compact = key.replace("_", "");
+			value = names.get(compact);
+			if (value != null || !fuzzy || compact.isEmpty()) return value;
+			
+			// Closest containing name, e.g. "LEVELUP" -> ENTITY_PLAYER_LEVELUP
+			for (E candidate : values) {
+				String name = candidate.name().replace("_", "");
+				if (name.contains(compact) || compact.contains(name)) return candidate;
+			}
+			return null;
+		}
+	}
+}
@@ -20,7 +20,7 @@ public final class ProxyListener implements PluginMessageListener {
 	private static boolean isBehindProxy = false;
 	private static String currentServer = "unknown";
 	private static final Map<String, List<String>> serverLists = new HashMap<>();
-	private static final Map<UUID, ProxyPlayerInfo> playerProxyInfo = new HashMap<>();
+	private static final PlayerRegistry.Store<ProxyPlayerInfo> playerProxyInfo = PlayerRegistry.newStore();
 	
 	private ProxyListener() {}
 
@@ -33,6 +33,7 @@ public final class ProxyListener implements PluginMessageListener {
 		
 		plugin = pluginInstance;
 		instance = new ProxyListener();
+		PlayerRegistry.init(pluginInstance);
 		
 		// Register BungeeCord channel
 		try {
@@ -177,8 +178,8 @@ public final class ProxyListener implements PluginMessageListener {
 				case "IP":
 					String ip = in.readUTF();
 					int port = in.readInt();
-					if (player != null) {
-						ProxyPlayerInfo info = getOrCreatePlayerInfo(player);
+					ProxyPlayerInfo info = player != null ? getOrCreatePlayerInfo(player) : null;
+					if (info != null) {
 						info.setRealIp(ip);
 						info.setPort(port);
 					}
@@ -293,17 +294,11 @@ public final class ProxyListener implements PluginMessageListener {
 	 */
 	public static ProxyPlayerInfo getPlayerInfo(Player player) {
 		if (player == null) return null;
-		return playerProxyInfo.get(player.getUniqueId());
+		return playerProxyInfo.get(player);
 	}
 
 	private static ProxyPlayerInfo getOrCreatePlayerInfo(Player player) {
-		UUID uuid = player.getUniqueId();
-		ProxyPlayerInfo info = playerProxyInfo.get(uuid);
-		if (info == null) {
-			info = new ProxyPlayerInfo(player);
-			playerProxyInfo.put(uuid, info);
-		}
-		return info;
+		return playerProxyInfo.computeIfAbsent(player, ProxyPlayerInfo::new);
 	}
 
 	/**
@@ -312,7 +307,7 @@ public final class ProxyListener implements PluginMessageListener {
 	 */
 	public static void removePlayerInfo(Player player) {
 		if (player != null) {
-			playerProxyInfo.remove(player.getUniqueId());
+			playerProxyInfo.remove(player);
 		}
 	}
 
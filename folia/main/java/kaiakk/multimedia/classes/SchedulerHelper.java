@@ -9,6 +9,7 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,6 +27,8 @@ public final class SchedulerHelper {
 	private static final BukkitScheduler scheduler = Bukkit.getScheduler();
 	private static final List<BukkitTask> trackedTasks = new ArrayList<>();
 	private static Plugin pluginInstance;
+	private static volatile Plugin tickCounterOwner;
+	private static volatile long serverTick;
 	private static final boolean IS_FOLIA = FoliaChecker.isFolia();
 
 	public static void setPlugin(Plugin plugin) {
@@ -209,6 +212,191 @@ public final class SchedulerHelper {
 		}
 	}
 
+	/**
+	 * Current server tick, counted by one shared task that runs every tick. Use it to stamp
+	 * per-tick budgets: unlike wall-clock time it never skips or repeats a tick when the
+	 * server lags. The task starts on first use; until a plugin is set this falls back to
+	 * wall-clock time in 50ms steps. It never goes backwards.
+	 * @return Current tick
+	 */
+	public static long currentTick() {
+		if (tickCounterOwner == null && !startTickCounter()) {
+			return System.currentTimeMillis() / 50L;
+		}
+		return serverTick;
+	}
+
+	private static synchronized boolean startTickCounter() {
+		if (tickCounterOwner != null) return true;
+		Plugin plugin = pluginInstance;
+		if (plugin == null) return false;
+		
+		serverTick = Math.max(serverTick, System.currentTimeMillis() / 50L); // Carry on from the fallback
+		runTimer(plugin, () -> serverTick++, 1L, 1L); // Only this task writes it from now on
+		tickCounterOwner = plugin;
+		return true;
+	}
+
+	/**
+	 * Check if the current thread is a server tick thread (never block here).
+	 * On Folia this is true for every region thread, not just one main thread.
+	 * @return true on a tick thread
+	 */
+	public static boolean isPrimaryThread() {
+		return Bukkit.isPrimaryThread();
+	}
+
+	// Resolved once; Server.isOwnedByCurrentRegion(Entity) only exists on Folia
+	private static volatile java.lang.reflect.Method ownedByRegionMethod;
+	private static volatile java.lang.reflect.Method ownedLocationMethod;
+
+	/**
+	 * Check if the current thread owns an entity, i.e. may touch it directly.
+	 * On Folia this is the region thread ticking the entity.
+	 * @param entity Entity to check
+	 * @return true if the entity can be used from this thread
+	 */
+	public static boolean isOwnedByCurrentRegion(Entity entity) {
+		if (!IS_FOLIA) return Bukkit.isPrimaryThread();
+		if (entity == null) return false;
+		
+		try {
+			java.lang.reflect.Method method = ownedByRegionMethod;
+			if (method == null) {
+				method = Bukkit.getServer().getClass().getMethod("isOwnedByCurrentRegion", Entity.class);
+				ownedByRegionMethod = method;
+			}
+			return (Boolean) method.invoke(Bukkit.getServer(), entity);
+		} catch (Throwable t) {
+			return false;
+		}
+	}
+
+	/**
+	 * Check if the current thread owns a location, i.e. may touch blocks and entities there.
+	 * On Folia this is the region thread ticking the location's chunk.
+	 * @param location Location to check
+	 * @return true if the location can be used from this thread
+	 */
+	public static boolean isOwnedByCurrentRegion(Location location) {
+		if (!IS_FOLIA) return Bukkit.isPrimaryThread();
+		if (location == null || location.getWorld() == null) return false;
+		
+		try {
+			java.lang.reflect.Method method = ownedLocationMethod;
+			if (method == null) {
+				method = Bukkit.getServer().getClass().getMethod("isOwnedByCurrentRegion", Location.class);
+				ownedLocationMethod = method;
+			}
+			return (Boolean) method.invoke(Bukkit.getServer(), location);
+		} catch (Throwable t) {
+			return false;
+		}
+	}
+
+	/**
+	 * Run a task on the thread that owns an entity (entity scheduler on Folia).
+	 * The task is dropped if the entity is removed before it runs.
+	 * @param plugin Plugin instance
+	 * @param entity Entity the task works with
+	 * @param task Task to run
+	 */
+	public static void runAtEntity(Plugin plugin, Entity entity, Runnable task) {
+		if (plugin == null || task == null) return;
+		if (IS_FOLIA) {
+			if (entity != null) runEntityFolia(plugin, entity, task);
+			else runGlobalFolia(plugin, task);
+			return;
+		}
+		scheduler.runTask(plugin, task);
+	}
+
+	/**
+	 * Run a task on the thread that owns a location (region scheduler on Folia).
+	 * @param plugin Plugin instance
+	 * @param location Location the task works with
+	 * @param task Task to run
+	 */
+	public static void runAtLocation(Plugin plugin, Location location, Runnable task) {
+		if (plugin == null || task == null) return;
+		if (IS_FOLIA) {
+			if (location != null && location.getWorld() != null) runRegionFolia(plugin, location, task);
+			else runGlobalFolia(plugin, task);
+			return;
+		}
+		scheduler.runTask(plugin, task);
+	}
+
+	/**
+	 * Executor that runs on the global region (main thread on Bukkit), for CompletableFuture callbacks.
+	 * Falls back to the plugin passed to setPlugin() when plugin is null.
+	 * @throws IllegalStateException if there is neither, since tasks would silently never run
+	 */
+	public static Executor syncExecutor(Plugin plugin) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> run(owner, task);
+	}
+
+	/** Executor that runs on an async scheduler thread. */
+	public static Executor asyncExecutor(Plugin plugin) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAsync(owner, task);
+	}
+
+	/** Executor that runs on the thread owning an entity. */
+	public static Executor entityExecutor(Plugin plugin, Entity entity) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAtEntity(owner, entity, task);
+	}
+
+	/** Executor that runs on the thread owning a location. */
+	public static Executor regionExecutor(Plugin plugin, Location location) {
+		final Plugin owner = executorOwner(plugin);
+		return task -> runAtLocation(owner, location, task);
+	}
+
+	// Looked up once; these run for every per-player dispatch
+	private static volatile java.lang.reflect.Method entityRunMethod;
+	private static volatile java.lang.reflect.Method regionRunMethod;
+
+	private static void runEntityFolia(Plugin plugin, Entity entity, Runnable task) {
+		try {
+			Object entityScheduler = FoliaChecker.getEntityScheduler(entity);
+			if (entityScheduler == null) return;
+			java.lang.reflect.Method method = entityRunMethod;
+			if (method == null) {
+				method = entityScheduler.getClass().getMethod("run", Plugin.class, java.util.function.Consumer.class, Runnable.class);
+				entityRunMethod = method;
+			}
+			method.invoke(entityScheduler, plugin, (java.util.function.Consumer<Object>) t -> task.run(), null);
+		} catch (Throwable e) {
+			ConsoleLog.warn("Failed to run Folia entity task: " + e.getMessage());
+		}
+	}
+
+	private static void runRegionFolia(Plugin plugin, Location location, Runnable task) {
+		try {
+			Object regionScheduler = FoliaChecker.getRegionScheduler(location);
+			if (regionScheduler == null) return;
+			java.lang.reflect.Method method = regionRunMethod;
+			if (method == null) {
+				method = regionScheduler.getClass().getMethod("run", Plugin.class, Location.class, java.util.function.Consumer.class);
+				regionRunMethod = method;
+			}
+			method.invoke(regionScheduler, plugin, location, (java.util.function.Consumer<Object>) t -> task.run());
+		} catch (Throwable e) {
+			ConsoleLog.warn("Failed to run Folia region task: " + e.getMessage());
+		}
+	}
+
+	private static Plugin executorOwner(Plugin plugin) {
+		Plugin owner = plugin != null ? plugin : pluginInstance;
+		if (owner == null) {
+			throw new IllegalStateException("No plugin for executor: pass one or call SchedulerHelper.setPlugin() first");
+		}
+		return owner;
+	}
+
 	public static BukkitTask runTracked(Plugin plugin, Runnable task) {
 		BukkitTask t = run(plugin, task);
 		if (t != null) trackedTasks.add(t);
@@ -240,6 +428,7 @@ public final class SchedulerHelper {
 
 	public static void cancelAllTasks(Plugin plugin) {
 		if (plugin == null) return;
+		if (plugin == tickCounterOwner) tickCounterOwner = null;
 		scheduler.cancelTasks(plugin);
 		trackedTasks.clear();
 	}
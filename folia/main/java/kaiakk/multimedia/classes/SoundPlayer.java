@@ -3,78 +3,78 @@ package kaiakk.multimedia.classes;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Simple helper to play sounds easily with version-aware fallbacks.
  * Supports Minecraft 1.7.2+ by using sound name mappings and fallbacks.
+ * Positional sounds only go to players in range, duplicates of a sound in the same tick
+ * are merged, and each player receives at most a fixed number of sounds per tick.
  * Examples:
  *   SoundPlayer.play(player, "ENTITY_PLAYER_LEVELUP");
  *   SoundPlayer.playAt(location, "ENTITY_EXPERIENCE_ORB_PICKUP", 1f, 1f);
+ *   SoundPlayer.playAt(location, Sound.ENTITY_GENERIC_EXPLODE, 1f, 1f, 48.0); // players within 48 blocks
  *   SoundPlayer.playFromConfig(plugin, player, "sounds.join");
+ *   SoundPlayer.playSong(player, SoundPlayer.parseSong("0 BLOCK_NOTE_BLOCK_PLING 1 1.0; 4 BLOCK_NOTE_BLOCK_PLING 1 1.5"), false);
  */
 public final class SoundPlayer {
 
-	private SoundPlayer() {}
+	// NBS instrument ids 0-15
+	private static final String[] NBS_INSTRUMENTS = {
+		"BLOCK_NOTE_BLOCK_HARP", "BLOCK_NOTE_BLOCK_BASS", "BLOCK_NOTE_BLOCK_BASEDRUM", "BLOCK_NOTE_BLOCK_SNARE",
+		"BLOCK_NOTE_BLOCK_HAT", "BLOCK_NOTE_BLOCK_GUITAR", "BLOCK_NOTE_BLOCK_FLUTE", "BLOCK_NOTE_BLOCK_BELL",
+		"BLOCK_NOTE_BLOCK_CHIME", "BLOCK_NOTE_BLOCK_XYLOPHONE", "BLOCK_NOTE_BLOCK_IRON_XYLOPHONE", "BLOCK_NOTE_BLOCK_COW_BELL",
+		"BLOCK_NOTE_BLOCK_DIDGERIDOO", "BLOCK_NOTE_BLOCK_BIT", "BLOCK_NOTE_BLOCK_BANJO", "BLOCK_NOTE_BLOCK_PLING"
+	};
+
+	// Tick each sound was last played in, so a repeat within the same tick is dropped
+	private static final Map<SoundKey, Long> playedSounds = new ConcurrentHashMap<>();
+	private static final PlayerRegistry.Store<AtomicLong> soundUsage = PlayerRegistry.newStore();
+	private static final ThreadLocal<Location> scratchLocation = new ThreadLocal<>();
+	private static final AtomicLong droppedSounds = new AtomicLong();
+	private static final AtomicLong playedTick = new AtomicLong(-1L);
+	private static volatile int soundBudget = 16;
+
+	private static final String PRESET_ROOT = "sounds";
+	private static final SoundPreset MISSING_PRESET = new SoundPreset(null, null, 0.0f, 0.0f);
+	private static volatile Map<String, SoundPreset> presets;
 
-	private static final Map<String, String[]> SOUND_ALIASES = new HashMap<>();
-	
 	static {
-		// Map modern sound names to their legacy equivalents (1.7-1.8 era)
-		// Format: modern name -> [1.9+ name, 1.8 name, 1.7 name, fallback]
-		SOUND_ALIASES.put("ENTITY_PLAYER_LEVELUP", new String[]{"ENTITY_PLAYER_LEVELUP", "LEVEL_UP", "LEVEL_UP", "ORB_PICKUP"});
-		SOUND_ALIASES.put("ENTITY_EXPERIENCE_ORB_PICKUP", new String[]{"ENTITY_EXPERIENCE_ORB_PICKUP", "ORB_PICKUP", "ORB_PICKUP", "CLICK"});
-		SOUND_ALIASES.put("UI_BUTTON_CLICK", new String[]{"UI_BUTTON_CLICK", "CLICK", "CLICK", "WOOD_CLICK"});
-		SOUND_ALIASES.put("BLOCK_NOTE_BLOCK_PLING", new String[]{"BLOCK_NOTE_BLOCK_PLING", "NOTE_PLING", "NOTE_PLING", "NOTE_PIANO"});
-		SOUND_ALIASES.put("ENTITY_VILLAGER_YES", new String[]{"ENTITY_VILLAGER_YES", "VILLAGER_YES", "VILLAGER_YES", "VILLAGER_IDLE"});
-		SOUND_ALIASES.put("ENTITY_VILLAGER_NO", new String[]{"ENTITY_VILLAGER_NO", "VILLAGER_NO", "VILLAGER_NO", "VILLAGER_IDLE"});
-		SOUND_ALIASES.put("BLOCK_ANVIL_USE", new String[]{"BLOCK_ANVIL_USE", "ANVIL_USE", "ANVIL_USE", "ANVIL_LAND"});
-		SOUND_ALIASES.put("ENTITY_ITEM_PICKUP", new String[]{"ENTITY_ITEM_PICKUP", "ITEM_PICKUP", "ITEM_PICKUP", "ITEM_PICKUP"});
-		SOUND_ALIASES.put("BLOCK_CHEST_OPEN", new String[]{"BLOCK_CHEST_OPEN", "CHEST_OPEN", "CHEST_OPEN", "CHEST_OPEN"});
-		SOUND_ALIASES.put("BLOCK_CHEST_CLOSE", new String[]{"BLOCK_CHEST_CLOSE", "CHEST_CLOSE", "CHEST_CLOSE", "CHEST_CLOSE"});
-	}
-
-	/** Try to resolve a Sound from a user-friendly name with version-aware fallbacks. */
+		ConfigHelp.addReloadListener(SoundPlayer::reloadPresets);
+	}
+
+	private static final Set<SongPlayback> songPlaybacks = ConcurrentHashMap.newKeySet();
+	private static boolean songDriverStarted = false;
+
+	private SoundPlayer() {}
+
+	/** Try to resolve a Sound from a user-friendly name with version-aware fallbacks (see NameResolver). */
 	public static Sound getSound(String name) {
-		if (name == null) return null;
-		String raw = name.trim();
-		if (raw.isEmpty()) return null;
-		
-		// Check if we have version-aware aliases for this sound
-		String[] aliases = SOUND_ALIASES.get(raw.toUpperCase());
-		if (aliases != null) {
-			for (String alias : aliases) {
-				try { return Sound.valueOf(alias); } catch (Throwable ignored) {}
-			}
-		}
-		
-		// direct match
-		try { return Sound.valueOf(raw); } catch (Throwable ignored) {}
-		// normalize common separators
-		String normal = raw.toUpperCase().replace('-', '_').replace(' ', '_').replace('.', '_');
-		try { return Sound.valueOf(normal); } catch (Throwable ignored) {}
-		
-		// Check aliases with normalized name
-		aliases = SOUND_ALIASES.get(normal);
-		if (aliases != null) {
-			for (String alias : aliases) {
-				try { return Sound.valueOf(alias); } catch (Throwable ignored) {}
-			}
-		}
-		
-		// try fuzzy contains match
-		String needle = normal.replace("_", "");
-		for (Sound s : Sound.values()) {
-			String cand = s.name().replace("_", "");
-			if (cand.contains(needle) || needle.contains(cand)) return s;
-		}
-		return null;
+		return NameResolver.sound(name);
 	}
 
 	public static void play(Player player, Sound sound) {
@@ -84,6 +84,7 @@ public final class SoundPlayer {
 	public static void play(Player player, Sound sound, float volume, float pitch) {
 		if (player == null || sound == null) return;
 		try {
+			if (!acquireSoundSlot(player, SchedulerHelper.currentTick())) return;
 			player.playSound(player.getLocation(), sound, volume, pitch);
 		} catch (Throwable t) {
 			t.printStackTrace();
@@ -100,12 +101,58 @@ public final class SoundPlayer {
 		play(player, s, volume, pitch);
 	}
 
+	/**
+	 * Play a sound at a location to the players who can hear it (16 blocks, more for loud sounds).
+	 * @param loc Location
+	 * @param sound Sound
+	 * @param volume Volume
+	 * @param pitch Pitch
+	 */
 	public static void playAt(Location loc, Sound sound, float volume, float pitch) {
-		if (loc == null || sound == null) return;
+		playAt(loc, sound, volume, pitch, 16.0 * Math.max(1.0f, volume));
+	}
+
+	/**
+	 * Play a sound at a location to the players within a radius. The same sound at the same
+	 * block, volume and radius is only sent once per tick, and each player gets at most the
+	 * per-tick sound budget.
+	 * Sounds are packets, so players in other regions are sent theirs directly from the
+	 * calling thread, the same way song notes are (see playSong).
+	 * @param loc Location
+	 * @param sound Sound
+	 * @param volume Volume
+	 * @param pitch Pitch
+	 * @param radius Recipient radius in blocks
+	 * @return Number of players the sound was sent to
+	 */
+	public static int playAt(Location loc, Sound sound, float volume, float pitch, double radius) {
+		if (loc == null || sound == null || loc.getWorld() == null) return 0;
 		try {
-			loc.getWorld().playSound(loc, sound, volume, pitch);
+			long tick = SchedulerHelper.currentTick();
+			if (!markPlayed(new SoundKey(loc.getWorld(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), sound, volume, pitch, radius), tick)) {
+				return 0;
+			}
+			
+			double x = loc.getX();
+			double y = loc.getY();
+			double z = loc.getZ();
+			double radiusSquared = radius * radius;
+			int reached = 0;
+			for (Player player : loc.getWorld().getPlayers()) {
+				Location at = player.getLocation(scratch());
+				double dx = at.getX() - x;
+				double dy = at.getY() - y;
+				double dz = at.getZ() - z;
+				if (dx * dx + dy * dy + dz * dz > radiusSquared) continue;
+				if (!acquireSoundSlot(player, tick)) continue;
+				
+				player.playSound(loc, sound, volume, pitch);
+				reached++;
+			}
+			return reached;
 		} catch (Throwable t) {
 			t.printStackTrace();
+			return 0;
 		}
 	}
 
@@ -115,14 +162,96 @@ public final class SoundPlayer {
 		playAt(loc, s, volume, pitch);
 	}
 
+	/**
+	 * Play a sound to every online player at their own location. Repeats of the same
+	 * broadcast within a tick are dropped, and the per-tick sound budget applies.
+	 */
 	public static void broadcast(String soundName, float volume, float pitch) {
 		Sound s = getSound(soundName);
 		if (s == null) return;
-		for (Player p : Bukkit.getOnlinePlayers()) play(p, s, volume, pitch);
+		
+		long tick = SchedulerHelper.currentTick();
+		if (!markPlayed(new SoundKey(null, 0, 0, 0, s, volume, pitch, 0.0), tick)) return;
+		for (Player p : Bukkit.getOnlinePlayers()) {
+			if (!acquireSoundSlot(p, tick)) continue;
+			try {
+				p.playSound(p.getLocation(), s, volume, pitch);
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to play sound: " + t.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Set how many sounds one player may receive per tick through play, playAt and broadcast.
+	 * Song notes are not counted.
+	 * @param soundsPerTick Budget (default 16)
+	 */
+	public static void setSoundBudget(int soundsPerTick) {
+		soundBudget = Math.max(0, Math.min(0xFFFF, soundsPerTick));
 	}
 
 	/**
-	 * Play a configured sound defined under a config path. Expected entries:
+	 * Get how many sends were dropped as same-tick duplicates or by the per-player budget.
+	 * @return Dropped sound count
+	 */
+	public static long getDroppedSoundCount() {
+		return droppedSounds.get();
+	}
+
+	/**
+	 * Safe to call from any region: exactly one caller per sound and tick wins.
+	 * @return true the first time a sound is played this tick, false for a duplicate
+	 */
+	private static boolean markPlayed(SoundKey key, long tick) {
+		long last = playedTick.get();
+		if (tick > last && playedTick.compareAndSet(last, tick)) {
+			// First call this tick forgets what earlier ticks played
+			playedSounds.values().removeIf(played -> played < tick);
+		}
+		
+		Long previous = playedSounds.putIfAbsent(key, tick);
+		if (previous == null) return true;
+		if (previous < tick && playedSounds.replace(key, previous, tick)) return true;
+		droppedSounds.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Usage is packed as the full tick (high 48 bits, so it never wraps) and sounds sent that
+	 * tick (low 16 bits), and updated with a compare-and-set so players on different regions
+	 * never share a lock.
+	 */
+	private static boolean acquireSoundSlot(Player player, long tick) {
+		AtomicLong usage = soundUsage.get(player);
+		if (usage == null) {
+			usage = soundUsage.computeIfAbsent(player, p -> new AtomicLong(-1L));
+			if (usage == null) return false; // Offline
+		}
+		
+		int budget = soundBudget;
+		while (true) {
+			long current = usage.get();
+			int used = (current >>> 16) == tick ? (int) (current & 0xFFFF) : 0;
+			if (used >= budget) {
+				droppedSounds.incrementAndGet();
+				return false;
+			}
+			if (usage.compareAndSet(current, tick << 16 | (used + 1))) return true;
+		}
+	}
+
+	private static Location scratch() {
+		Location location = scratchLocation.get();
+		if (location == null) {
+			location = new Location(null, 0, 0, 0);
+			scratchLocation.set(location);
+		}
+		return location;
+	}
+
+	/**
+	 * Play a configured sound defined under a config path (compiled once, see getPreset). Expected entries:
 	 *   path.name: SOUND_NAME
 	 *   path.volume: 1.0
 	 *   path.pitch: 1.0
@@ -130,16 +259,630 @@ public final class SoundPlayer {
 	public static void playFromConfig(JavaPlugin plugin, Player player, String configPath) {
 		if (plugin == null || player == null || configPath == null) return;
 		try {
-			String name = ConfigHelp.getString(configPath + ".name", null);
-			if (name == null) return;
-			float vol = (float) ConfigHelp.getDouble(configPath + ".volume", 1.0);
-			float pitch = (float) ConfigHelp.getDouble(configPath + ".pitch", 1.0);
-			play(player, name, vol, pitch);
+			SoundPreset preset = getPreset(configPath);
+			if (preset != null) preset.play(player);
 		} catch (Throwable t) {
 			t.printStackTrace();
 		}
 	}
 
+	/**
+	 * Get a compiled sound preset. Every section under "sounds" is compiled when the config
+	 * loads, reloads or is changed through ConfigHelp.set; other paths are compiled on first
+	 * use and kept until then.
+	 * @param configPath Config path of the section (e.g. "sounds.join")
+	 * @return Preset or null if the section has no valid sound
+	 */
+	public static SoundPreset getPreset(String configPath) {
+		if (configPath == null) return null;
+		
+		Map<String, SoundPreset> compiled = presets;
+		if (compiled == null) compiled = reloadPresets();
+		SoundPreset preset = compiled.get(configPath);
+		if (preset != null) return preset == MISSING_PRESET ? null : preset;
+		
+		preset = compilePreset(configPath);
+		compiled.put(configPath, preset != null ? preset : MISSING_PRESET);
+		return preset;
+	}
+
+	/**
+	 * Get the paths of all compiled presets.
+	 * @return Preset paths
+	 */
+	public static Set<String> getPresetPaths() {
+		Map<String, SoundPreset> compiled = presets;
+		if (compiled == null) compiled = reloadPresets();
+		Set<String> paths = new HashSet<>();
+		for (Map.Entry<String, SoundPreset> entry : compiled.entrySet()) {
+			if (entry.getValue() != MISSING_PRESET) paths.add(entry.getKey());
+		}
+		return paths;
+	}
+
+	/**
+	 * Recompile every preset from the current config. Runs by itself on ConfigHelp init, reload and set.
+	 */
+	private static Map<String, SoundPreset> reloadPresets() {
+		Map<String, SoundPreset> compiled = new ConcurrentHashMap<>();
+		try {
+			FileConfiguration config = ConfigHelp.getConfig();
+			ConfigurationSection root = config != null ? config.getConfigurationSection(PRESET_ROOT) : null;
+			if (root != null) collectPresets(root, PRESET_ROOT, compiled);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to load sound presets: " + t.getMessage());
+		}
+		presets = compiled;
+		return compiled;
+	}
+
+	private static void collectPresets(ConfigurationSection section, String path, Map<String, SoundPreset> compiled) {
+		for (String key : section.getKeys(false)) {
+			ConfigurationSection child = section.getConfigurationSection(key);
+			if (child == null) continue;
+			
+			String childPath = path + '.' + key;
+			if (child.contains("name")) {
+				SoundPreset preset = compilePreset(childPath);
+				compiled.put(childPath, preset != null ? preset : MISSING_PRESET);
+			} else {
+				collectPresets(child, childPath, compiled); // e.g. sounds.gui.click
+			}
+		}
+	}
+
+	private static SoundPreset compilePreset(String configPath) {
+		String name = ConfigHelp.getString(configPath + ".name", null);
+		if (name == null) return null;
+		
+		Sound sound = getSound(name);
+		if (sound == null) {
+			ConsoleLog.warn("Unknown sound '" + name + "' at " + configPath);
+			return null;
+		}
+		float volume = (float) ConfigHelp.getDouble(configPath + ".volume", 1.0);
+		float pitch = (float) ConfigHelp.getDouble(configPath + ".pitch", 1.0);
+		return new SoundPreset(configPath, sound, volume, pitch);
+	}
+
+	/**
+	 * Start building a song from notes at tick offsets.
+	 * @return New song builder
+	 */
+	public static SongBuilder createSong() {
+		return new SongBuilder();
+	}
+
+	/**
+	 * Parse a song written as "tick sound [volume] [pitch]" entries separated by ';' or new lines,
+	 * e.g. "0 BLOCK_NOTE_BLOCK_PLING 1 1.0; 4 BLOCK_NOTE_BLOCK_PLING 1 1.26".
+	 * @param text Song text
+	 * @return Song (unknown sounds are skipped)
+	 */
+	public static Song parseSong(String text) {
+		SongBuilder builder = new SongBuilder();
+		if (text == null) return builder.build();
+		
+		for (String entry : text.split("[;\\n]")) {
+			String[] parts = entry.trim().split("[\\s,]+");
+			if (parts.length < 2 || parts[0].isEmpty()) continue;
+			try {
+				int tick = Integer.parseInt(parts[0]);
+				float volume = parts.length > 2 ? Float.parseFloat(parts[2]) : 1.0f;
+				float pitch = parts.length > 3 ? Float.parseFloat(parts[3]) : 1.0f;
+				builder.note(tick, parts[1], volume, pitch);
+			} catch (NumberFormatException e) {
+				ConsoleLog.warn("Invalid song entry: " + entry.trim());
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Load a Note Block Studio (.nbs) song. The file is streamed note by note, so call this
+	 * off the main thread (see loadNbsAsync). Custom instruments are skipped.
+	 * @param file .nbs file
+	 * @return Song
+	 * @throws IOException if the file can't be read
+	 */
+	public static Song loadNbs(File file) throws IOException {
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			return readNbs(in);
+		}
+	}
+
+	/**
+	 * Load a Note Block Studio (.nbs) song on an async thread.
+	 * @param file .nbs file
+	 * @return Future completing with the song (or exceptionally if it can't be read)
+	 */
+	public static CompletableFuture<Song> loadNbsAsync(File file) {
+		CompletableFuture<Song> result = new CompletableFuture<>();
+		Plugin owner = SchedulerHelper.getPlugin();
+		Runnable task = () -> {
+			try {
+				result.complete(loadNbs(file));
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		};
+		if (owner != null) SchedulerHelper.runAsync(owner, task);
+		else task.run();
+		return result;
+	}
+
+	/**
+	 * Play a song to one player.
+	 * @param player Listener
+	 * @param song Song
+	 * @param loop true to repeat until stopped
+	 * @return Playback handle or null
+	 */
+	public static SongPlayback playSong(Player player, Song song, boolean loop) {
+		if (player == null) return null;
+		return playSong(Collections.singletonList(player), song, loop);
+	}
+
+	/**
+	 * Play a song to a group of players; each hears it at their own location.
+	 * Notes are sent directly from the shared song task, without a task per listener.
+	 * Stops by itself once every listener has left.
+	 * @param players Listeners
+	 * @param song Song
+	 * @param loop true to repeat until stopped
+	 * @return Playback handle or null
+	 */
+	public static SongPlayback playSong(Collection<? extends Player> players, Song song, boolean loop) {
+		if (players == null || players.isEmpty() || song == null || song.size() == 0) return null;
+		return startSong(new SongPlayback(song, new ArrayList<>(players), null, loop));
+	}
+
+	/**
+	 * Play a song at a location, audible to everyone nearby.
+	 * @param loc Location
+	 * @param song Song
+	 * @param loop true to repeat until stopped
+	 * @return Playback handle or null
+	 */
+	public static SongPlayback playSongAt(Location loc, Song song, boolean loop) {
+		if (loc == null || loc.getWorld() == null || song == null || song.size() == 0) return null;
+		return startSong(new SongPlayback(song, null, loc.clone(), loop));
+	}
+
+	/**
+	 * Stop every playing song.
+	 */
+	public static void stopAllSongs() {
+		for (SongPlayback playback : songPlaybacks) {
+			playback.stop();
+		}
+		songPlaybacks.clear();
+	}
+
+	/**
+	 * Get the number of songs playing.
+	 * @return Playback count
+	 */
+	public static int getSongCount() {
+		return songPlaybacks.size();
+	}
+
+	private static SongPlayback startSong(SongPlayback playback) {
+		ensureSongDriver();
+		songPlaybacks.add(playback);
+		return playback;
+	}
+
+	private static synchronized void ensureSongDriver() {
+		if (songDriverStarted) return;
+		
+		Plugin owner = SchedulerHelper.getPlugin();
+		if (owner == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(owner, SoundPlayer::tickSongs, 1L, 1L);
+		songDriverStarted = true;
+	}
+
+	/**
+	 * Advance every playback by one tick. Sounds are packets, so notes due this tick are
+	 * sent to each listener straight from the driver, like playAt does, whichever region
+	 * owns the listener: one task drives every song however many players listen. Only a
+	 * song played at a location needs its world, so it gets one task on that region per
+	 * note tick.
+	 */
+	private static void tickSongs() {
+		if (songPlaybacks.isEmpty()) return;
+		
+		Plugin owner = SchedulerHelper.getPlugin();
+		for (SongPlayback playback : songPlaybacks) {
+			if (!playback.running) {
+				songPlaybacks.remove(playback);
+				continue;
+			}
+			
+			Song song = playback.song;
+			int tick = playback.tick++;
+			int from = playback.cursor;
+			int to = from;
+			while (to < song.ticks.length && song.ticks[to] == tick) to++;
+			playback.cursor = to;
+			if (tick + 1 >= song.length) {
+				if (playback.loop) {
+					playback.tick = 0;
+					playback.cursor = 0;
+				} else {
+					playback.running = false;
+				}
+			}
+			if (from == to) continue;
+			
+			final int start = from;
+			final int end = to;
+			if (playback.location != null) {
+				Location loc = playback.location;
+				if (owner == null || SchedulerHelper.isOwnedByCurrentRegion(loc)) playNotesAt(loc, song, start, end);
+				else SchedulerHelper.runAtLocation(owner, loc, () -> playNotesAt(loc, song, start, end));
+				continue;
+			}
+			
+			boolean anyOnline = false;
+			for (Player player : playback.listeners) {
+				if (!player.isOnline()) continue;
+				anyOnline = true;
+				playNotes(player, song, start, end);
+			}
+			if (!anyOnline) playback.running = false;
+		}
+	}
+
+	private static void playNotes(Player player, Song song, int from, int to) {
+		try {
+			Location loc = player.getLocation();
+			for (int i = from; i < to; i++) {
+				player.playSound(loc, song.sounds[i], song.volumes[i], song.pitches[i]);
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to play song: " + t.getMessage());
+		}
+	}
+
+	private static void playNotesAt(Location loc, Song song, int from, int to) {
+		try {
+			World world = loc.getWorld();
+			for (int i = from; i < to; i++) {
+				world.playSound(loc, song.sounds[i], song.volumes[i], song.pitches[i]);
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to play song: " + t.getMessage());
+		}
+	}
+
+	private static Song readNbs(InputStream in) throws IOException {
+		int first = readShort(in);
+		int version = 0;
+		int vanillaInstruments = 10;
+		if (first == 0) {
+			// Newer files start with 0 followed by a format version
+			version = readByte(in);
+			vanillaInstruments = readByte(in);
+			if (version >= 3) readShort(in); // Song length
+		}
+		int layerCount = readShort(in);
+		readString(in); // Name
+		readString(in); // Author
+		readString(in); // Original author
+		readString(in); // Description
+		float tempo = readShort(in) / 100.0f; // NBS ticks per second
+		skip(in, 3); // Auto-save, auto-save duration, time signature
+		skip(in, 20); // Minutes spent, left clicks, right clicks, blocks added, blocks removed
+		readString(in); // Imported file name
+		if (version >= 4) skip(in, 4); // Loop on/off, max loop count, loop start tick
+		
+		double ticksPerNbsTick = 20.0 / (tempo > 0 ? tempo : 10.0f);
+		SongBuilder builder = new SongBuilder();
+		List<Integer> noteLayers = new ArrayList<>();
+		int tick = -1;
+		while (true) {
+			int tickJump = readShort(in);
+			if (tickJump == 0) break;
+			tick += tickJump;
+			
+			int layer = -1;
+			while (true) {
+				int layerJump = readShort(in);
+				if (layerJump == 0) break;
+				layer += layerJump;
+				
+				int instrument = readByte(in);
+				int key = readByte(in);
+				int velocity = 100;
+				int finePitch = 0;
+				if (version >= 4) {
+					velocity = readByte(in);
+					readByte(in); // Panning
+					finePitch = (short) readShort(in);
+				}
+				
+				Sound sound = instrument < vanillaInstruments && instrument < NBS_INSTRUMENTS.length
+					? NameResolver.sound(NBS_INSTRUMENTS[instrument]) : null;
+				if (sound == null) continue;
+				
+				float pitch = (float) Math.pow(2.0, (key - 45 + finePitch / 100.0) / 12.0);
+				int serverTick = (int) Math.round(tick * ticksPerNbsTick);
+				if (builder.add(serverTick, sound, velocity / 100.0f, Math.max(0.5f, Math.min(2.0f, pitch)))) {
+					noteLayers.add(layer);
+				}
+			}
+		}
+		
+		// Layer volumes come after the notes
+		float[] layerVolumes = new float[layerCount];
+		Arrays.fill(layerVolumes, 1.0f);
+		try {
+			for (int i = 0; i < layerCount; i++) {
+				readString(in); // Layer name
+				if (version >= 4) readByte(in); // Locked
+				layerVolumes[i] = readByte(in) / 100.0f;
+				if (version >= 2) readByte(in); // Stereo
+			}
+		} catch (EOFException ignored) {} // Some writers leave the layer section out
+		
+		for (int i = 0; i < noteLayers.size(); i++) {
+			int layer = noteLayers.get(i);
+			if (layer >= 0 && layer < layerCount) builder.volumes[i] *= layerVolumes[layer];
+		}
+		builder.length((int) Math.round((tick + 1) * ticksPerNbsTick));
+		return builder.build();
+	}
+
+	private static int readByte(InputStream in) throws IOException {
+		int value = in.read();
+		if (value < 0) throw new EOFException();
+		return value;
+	}
+
+	private static int readShort(InputStream in) throws IOException {
+		return readByte(in) | readByte(in) << 8;
+	}
+
+	private static int readInt(InputStream in) throws IOException {
+		return readShort(in) | readShort(in) << 16;
+	}
+
+	private static String readString(InputStream in) throws IOException {
+		int length = readInt(in);
+		if (length < 0 || length > 65536) throw new IOException("Invalid string length " + length);
+		byte[] bytes = new byte[length];
+		int read = 0;
+		while (read < length) {
+			int count = in.read(bytes, read, length - read);
+			if (count < 0) throw new EOFException();
+			read += count;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void skip(InputStream in, int count) throws IOException {
+		for (int i = 0; i < count; i++) readByte(in);
+	}
+
+	/**
+	 * A sound, volume and pitch compiled from a config section:
+	 *   sounds.join.name: ENTITY_PLAYER_LEVELUP
+	 *   sounds.join.volume: 1.0
+	 *   sounds.join.pitch: 1.2
+	 */
+	public static final class SoundPreset {
+		private final String path;
+		private final Sound sound;
+		private final float volume;
+		private final float pitch;
+		
+		private SoundPreset(String path, Sound sound, float volume, float pitch) {
+			this.path = path;
+			this.sound = sound;
+			this.volume = volume;
+			this.pitch = pitch;
+		}
+
+		public String getPath() { return path; }
+		public Sound getSound() { return sound; }
+		public float getVolume() { return volume; }
+		public float getPitch() { return pitch; }
+		
+		public void play(Player player) {
+			SoundPlayer.play(player, sound, volume, pitch);
+		}
+
+		public void playAt(Location loc) {
+			SoundPlayer.playAt(loc, sound, volume, pitch);
+		}
+	}
+
+	/**
+	 * Identity of one sound send within a tick: same sound, volume, pitch, radius and block,
+	 * so a louder or wider send is never dropped for a quieter one.
+	 */
+	private static final class SoundKey {
+		private final World world;
+		private final int x;
+		private final int y;
+		private final int z;
+		private final Sound sound;
+		private final int volume;
+		private final int pitch;
+		private final long radius;
+		
+		private SoundKey(World world, int x, int y, int z, Sound sound, float volume, float pitch, double radius) {
+			this.world = world;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.sound = sound;
+			this.volume = Float.floatToIntBits(volume);
+			this.pitch = Float.floatToIntBits(pitch);
+			this.radius = Double.doubleToLongBits(radius);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) return true;
+			if (!(other instanceof SoundKey)) return false;
+			SoundKey key = (SoundKey) other;
+			return x == key.x && y == key.y && z == key.z && volume == key.volume && pitch == key.pitch && radius == key.radius && sound == key.sound && world == key.world;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = sound.hashCode();
+			hash = 31 * hash + (x * 73856093 ^ y * 19349663 ^ z * 83492791);
+			hash = 31 * hash + volume;
+			return 31 * hash + pitch;
+		}
+	}
+
+	/**
+	 * Notes sorted by tick, stored as parallel arrays. Immutable and shared by all playbacks.
+	 */
+	public static final class Song {
+		private final int[] ticks;
+		private final Sound[] sounds;
+		private final float[] volumes;
+		private final float[] pitches;
+		private final int length;
+		
+		private Song(int[] ticks, Sound[] sounds, float[] volumes, float[] pitches, int length) {
+			this.ticks = ticks;
+			this.sounds = sounds;
+			this.volumes = volumes;
+			this.pitches = pitches;
+			this.length = length;
+		}
+
+		/**
+		 * @return Number of notes
+		 */
+		public int size() { return ticks.length; }
+
+		/**
+		 * @return Length in ticks (one loop)
+		 */
+		public int getLength() { return length; }
+	}
+
+	/**
+	 * Collects notes for a Song.
+	 */
+	public static final class SongBuilder {
+		private int[] ticks = new int[32];
+		private Sound[] sounds = new Sound[32];
+		private float[] volumes = new float[32];
+		private float[] pitches = new float[32];
+		private int size = 0;
+		private int length = 0;
+		
+		private SongBuilder() {}
+
+		/**
+		 * Add a note.
+		 * @param tick Tick offset from the start
+		 * @param sound Sound
+		 * @param volume Volume
+		 * @param pitch Pitch (0.5-2.0)
+		 * @return This builder
+		 */
+		public SongBuilder note(int tick, Sound sound, float volume, float pitch) {
+			add(tick, sound, volume, pitch);
+			return this;
+		}
+
+		public SongBuilder note(int tick, String soundName, float volume, float pitch) {
+			return note(tick, getSound(soundName), volume, pitch);
+		}
+
+		/**
+		 * Set the song length (defaults to one tick past the last note); loops restart after it.
+		 * @param ticks Length in ticks
+		 * @return This builder
+		 */
+		public SongBuilder length(int ticks) {
+			this.length = Math.max(0, ticks);
+			return this;
+		}
+
+		public Song build() {
+			Integer[] order = new Integer[size];
+			for (int i = 0; i < size; i++) order[i] = i;
+			Arrays.sort(order, (a, b) -> Integer.compare(ticks[a], ticks[b])); // Stable, keeps note order within a tick
+			
+			int[] sortedTicks = new int[size];
+			Sound[] sortedSounds = new Sound[size];
+			float[] sortedVolumes = new float[size];
+			float[] sortedPitches = new float[size];
+			for (int i = 0; i < size; i++) {
+				int index = order[i];
+				sortedTicks[i] = ticks[index];
+				sortedSounds[i] = sounds[index];
+				sortedVolumes[i] = volumes[index];
+				sortedPitches[i] = pitches[index];
+			}
+			int lastTick = size > 0 ? sortedTicks[size - 1] : -1;
+			return new Song(sortedTicks, sortedSounds, sortedVolumes, sortedPitches, Math.max(length, lastTick + 1));
+		}
+
+		private boolean add(int tick, Sound sound, float volume, float pitch) {
+			if (sound == null || tick < 0) return false;
+			if (size == ticks.length) {
+				int capacity = size * 2;
+				ticks = Arrays.copyOf(ticks, capacity);
+				sounds = Arrays.copyOf(sounds, capacity);
+				volumes = Arrays.copyOf(volumes, capacity);
+				pitches = Arrays.copyOf(pitches, capacity);
+			}
+			ticks[size] = tick;
+			sounds[size] = sound;
+			volumes[size] = volume;
+			pitches[size] = pitch;
+			size++;
+			return true;
+		}
+	}
+
+	/**
+	 * A song playing to a group of players or at a location.
+	 */
+	public static final class SongPlayback {
+		private final Song song;
+		private final List<Player> listeners;
+		private final Location location;
+		private final boolean loop;
+		private volatile boolean running = true;
+		private int tick = 0;
+		private int cursor = 0;
+		
+		private SongPlayback(Song song, List<Player> listeners, Location location, boolean loop) {
+			this.song = song;
+			this.listeners = listeners;
+			this.location = location;
+			this.loop = loop;
+		}
+
+		public void stop() {
+			running = false;
+		}
+
+		public boolean isRunning() { return running; }
+		public Song getSong() { return song; }
+
+		/**
+		 * @return Current position in ticks
+		 */
+		public int getTick() { return tick; }
+	}
+
 	public static List<String> availableSounds() {
 		List<String> out = new ArrayList<>();
 		for (Sound s : Sound.values()) out.add(s.name());
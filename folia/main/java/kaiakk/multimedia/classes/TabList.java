@@ -0,0 +1,492 @@
+package kaiakk.multimedia.classes;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TabList - Player list header/footer and name formatting.
+ * One shared task refreshes every player; header, footer and names support {placeholders}
+ * (see Placeholders) and only the parts that changed since the last send are sent again.
+ * Marking a placeholder dirty refreshes only the templates (or, for one player, the viewer)
+ * that use it, and templates nobody views any more are dropped from the task.
+ * Examples:
+ *   // {online}, {kills}, {rank} and {player} registered through Placeholders
+ *   TabList.Template tab = TabList.createTemplate()
+ *       .header("&6My Server\n&7Online: {online}")
+ *       .footer("&7Kills: {kills}")
+ *       .name("&7[{rank}] &f{player}");
+ *   TabList.setDefaultTemplate(tab); // every player, including future joins
+ *   TabList.apply(player, tab);
+ */
+public final class TabList {
+
+	private static final PlayerRegistry.Store<View> views = PlayerRegistry.newStore();
+	private static final Set<Template> templates = ConcurrentHashMap.newKeySet();
+	private static volatile Template defaultTemplate;
+	private static JavaPlugin plugin;
+	private static boolean driverStarted = false;
+	private static long ticks = 0;
+	// Set when a single viewer was marked dirty, so the next tick looks for it
+	private static volatile boolean dirtyViews = false;
+
+	static {
+		Placeholders.addDirtyListener(TabList::onPlaceholderDirty);
+	}
+
+	private TabList() {}
+
+	/**
+	 * Initialize TabList: applies the default template to joining players.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		PlayerRegistry.init(pluginInstance);
+		try {
+			Bukkit.getPluginManager().registerEvents(new JoinListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register TabList listener: " + t.getMessage());
+		}
+	}
+
+	private static final class JoinListener implements Listener {
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onJoin(PlayerJoinEvent event) {
+			Template template = defaultTemplate;
+			if (template != null) {
+				apply(event.getPlayer(), template);
+			}
+		}
+	}
+
+	/**
+	 * Create a tab list template. Header, footer and name support & colors and {placeholders}.
+	 * @return New template
+	 */
+	public static Template createTemplate() {
+		return new Template();
+	}
+
+	/**
+	 * Show a template to a player; it is refreshed by the shared tab list task.
+	 * @param player Target player
+	 * @param template Template to show
+	 * @return true if successful
+	 */
+	public static boolean apply(Player player, Template template) {
+		if (player == null || template == null) return false;
+		
+		try {
+			ensureDriver();
+			
+			View view = new View(template);
+			views.set(player, view);
+			if (views.get(player) != view) return false; // Not online
+			// Counted after the view exists, so a tick pruning concurrently keeps the template
+			template.applies.incrementAndGet();
+			templates.add(template);
+			
+			template.refreshGlobals();
+			runForPlayer(player, () -> render(player, view));
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to apply tab list: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Set the template shown to every player, including players who join later.
+	 * Needs init() for future joins.
+	 * @param template Template to show (null to stop applying one on join)
+	 */
+	public static void setDefaultTemplate(Template template) {
+		defaultTemplate = template;
+		if (template == null) return;
+		
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			apply(player, template);
+		}
+	}
+
+	/**
+	 * Get the default template.
+	 * @return Template or null
+	 */
+	public static Template getDefaultTemplate() {
+		return defaultTemplate;
+	}
+
+	/**
+	 * Get the template a player is viewing.
+	 * @param player Target player
+	 * @return Template or null
+	 */
+	public static Template getTemplate(Player player) {
+		View view = views.get(player);
+		return view != null ? view.template : null;
+	}
+
+	/**
+	 * Stop managing a player's tab list and clear their header, footer and name.
+	 * @param player Target player
+	 * @return true if the player had a template
+	 */
+	public static boolean remove(Player player) {
+		if (player == null) return false;
+		
+		View view = views.remove(player);
+		if (view == null) return false;
+		
+		runForPlayer(player, () -> {
+			player.setPlayerListHeaderFooter("", "");
+			player.setPlayerListName(null);
+		});
+		return true;
+	}
+
+	/**
+	 * Stop refreshing a template and remove it from all of its viewers.
+	 * @param template Template to remove
+	 */
+	public static void removeTemplate(Template template) {
+		if (template == null) return;
+		
+		templates.remove(template);
+		if (defaultTemplate == template) defaultTemplate = null;
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (getTemplate(player) == template) {
+				remove(player);
+			}
+		}
+	}
+
+	/**
+	 * Resend a player's header, footer and name on the next refresh even if unchanged.
+	 * @param player Target player
+	 */
+	public static void refresh(Player player) {
+		View view = views.get(player);
+		if (view != null) {
+			view.invalidate();
+			runForPlayer(player, () -> render(player, view));
+		}
+	}
+
+	/**
+	 * Set a player's header and footer once, skipping the send if nothing changed.
+	 * Players with a template get it overwritten on the next refresh.
+	 * @param player Target player
+	 * @param header Header text (supports color codes with &)
+	 * @param footer Footer text (supports color codes with &)
+	 * @return true if successful
+	 */
+	public static boolean setHeaderFooter(Player player, String header, String footer) {
+		if (player == null) return false;
+		
+		try {
+			String coloredHeader = header != null ? ChatColor.translateAlternateColorCodes('&', header) : "";
+			String coloredFooter = footer != null ? ChatColor.translateAlternateColorCodes('&', footer) : "";
+			if (coloredHeader.equals(player.getPlayerListHeader()) && coloredFooter.equals(player.getPlayerListFooter())) {
+				return true;
+			}
+			runForPlayer(player, () -> player.setPlayerListHeaderFooter(coloredHeader, coloredFooter));
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to set tab list header/footer: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Set a player's name in the tab list, skipping the send if it is unchanged.
+	 * @param player Target player
+	 * @param name Name (supports color codes with &, null resets)
+	 * @return true if successful
+	 */
+	public static boolean setName(Player player, String name) {
+		if (player == null) return false;
+		
+		try {
+			String colored = name != null ? ChatColor.translateAlternateColorCodes('&', name) : null;
+			if (colored != null && colored.equals(player.getPlayerListName())) return true;
+			runForPlayer(player, () -> player.setPlayerListName(colored));
+			return true;
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to set tab list name: " + t.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Remove all managed tab lists (cleanup on plugin disable).
+	 */
+	public static void clearAll() {
+		defaultTemplate = null;
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			remove(player);
+		}
+		views.clear();
+		templates.clear();
+	}
+
+	private static synchronized void ensureDriver() {
+		if (driverStarted) return;
+		
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(owner, TabList::tick, 1L, 1L);
+		driverStarted = true;
+	}
+
+	/**
+	 * A placeholder changed: mark only the templates (for everyone) or the one viewer
+	 * (for one player) that use it, to be refreshed on the next tick.
+	 */
+	private static void onPlaceholderDirty(String key, Player player) {
+		if (player == null) {
+			for (Template template : templates) {
+				if (template.uses(key)) template.dirty = true;
+			}
+			return;
+		}
+		
+		View view = views.get(player);
+		if (view != null && view.template.uses(key)) {
+			view.dirty = true;
+			dirtyViews = true;
+		}
+	}
+
+	/**
+	 * One pass for every player: global text is resolved once per template, then each
+	 * player only resolves its own placeholders on its own thread.
+	 * Templates whose interval is due or whose placeholders changed are refreshed for all
+	 * their viewers; a viewer marked dirty on its own is refreshed alone. The same pass
+	 * drops templates that no viewer references any more.
+	 */
+	private static void tick() {
+		if (templates.isEmpty()) return;
+		
+		long tick = ++ticks;
+		boolean anyDue = false;
+		for (Template template : templates) {
+			boolean due = tick % template.intervalTicks == 0;
+			if (template.dirty) {
+				template.dirty = false;
+				due = true;
+			}
+			template.due = due;
+			template.seen = false;
+			template.appliesBeforeScan = template.applies.get();
+			if (due) {
+				template.refreshGlobals();
+				anyDue = true;
+			}
+		}
+		boolean checkDirty = dirtyViews;
+		if (!anyDue && !checkDirty) return;
+		dirtyViews = false;
+		
+		views.forEachWithId((view, id) -> {
+			Template template = view.template;
+			template.seen = true;
+			boolean render = template.due;
+			if (view.dirty) {
+				view.dirty = false;
+				render = true;
+			}
+			if (!render) return;
+			
+			Player player = PlayerRegistry.getPlayer(id);
+			if (player != null) {
+				runForPlayer(player, () -> render(player, view));
+			}
+		});
+		
+		for (Template template : templates) {
+			if (template.seen || template.applies.get() != template.appliesBeforeScan) continue;
+			templates.remove(template);
+			// Applied while pruning: its viewer may have been missed by the scan
+			if (template.applies.get() != template.appliesBeforeScan) templates.add(template);
+		}
+	}
+
+	private static void render(Player player, View view) {
+		Template template = view.template;
+		String header = template.resolveHeader(player);
+		String footer = template.resolveFooter(player);
+		String name = template.resolveName(player);
+		
+		synchronized (view) {
+			if (header != null || footer != null) {
+				String sendHeader = header != null ? header : "";
+				String sendFooter = footer != null ? footer : "";
+				if (!sendHeader.equals(view.header) || !sendFooter.equals(view.footer)) {
+					player.setPlayerListHeaderFooter(sendHeader, sendFooter);
+					view.header = sendHeader;
+					view.footer = sendFooter;
+				}
+			}
+			if (name != null && !name.equals(view.name)) {
+				player.setPlayerListName(name);
+				view.name = name;
+			}
+		}
+	}
+
+	private static void runForPlayer(Player player, Runnable task) {
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null || SchedulerHelper.isOwnedByCurrentRegion(player)) {
+			task.run();
+			return;
+		}
+
+		SchedulerHelper.runAtEntity(owner, player, () -> {
+			try {
+				task.run();
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to update tab list: " + t.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * What was last sent to one player.
+	 */
+	private static final class View {
+		private final Template template;
+		private String header;
+		private String footer;
+		private String name;
+		private volatile boolean dirty;
+		
+		private View(Template template) {
+			this.template = template;
+		}
+
+		private synchronized void invalidate() {
+			header = null;
+			footer = null;
+			name = null;
+		}
+	}
+
+	/**
+	 * Tab list layout shared by many players. Text made only of global placeholders
+	 * is resolved once per refresh for everyone.
+	 */
+	public static final class Template {
+		private Placeholders.Text header;
+		private Placeholders.Text footer;
+		private Placeholders.Text name;
+		private long intervalTicks = 20;
+		private volatile String globalHeader;
+		private volatile String globalFooter;
+		private volatile String globalName;
+		private volatile boolean dirty;
+		private final AtomicInteger applies = new AtomicInteger();
+		// Only touched by the driver
+		private boolean due;
+		private boolean seen;
+		private int appliesBeforeScan;
+		
+		private Template() {}
+
+		/**
+		 * Set the header (use \n for multiple lines).
+		 * @param text Header text (supports color codes with & and {placeholders})
+		 * @return This template
+		 */
+		public Template header(String text) {
+			this.header = text != null ? Placeholders.compile(text) : null;
+			return this;
+		}
+
+		/**
+		 * Set the footer (use \n for multiple lines).
+		 * @param text Footer text (supports color codes with & and {placeholders})
+		 * @return This template
+		 */
+		public Template footer(String text) {
+			this.footer = text != null ? Placeholders.compile(text) : null;
+			return this;
+		}
+
+		/**
+		 * Set the format of each player's own name in the list.
+		 * @param text Name format (supports color codes with & and {placeholders})
+		 * @return This template
+		 */
+		public Template name(String text) {
+			this.name = text != null ? Placeholders.compile(text) : null;
+			return this;
+		}
+
+		/**
+		 * Set how often the template is refreshed.
+		 * @param ticks Ticks between refreshes (default 20)
+		 * @return This template
+		 */
+		public Template updateEvery(long ticks) {
+			this.intervalTicks = Math.max(1L, ticks);
+			return this;
+		}
+
+		public long getUpdateInterval() { return intervalTicks; }
+		
+		/**
+		 * @return true if the header, footer or name uses {key}
+		 */
+		private boolean uses(String key) {
+			return (header != null && header.uses(key))
+				|| (footer != null && footer.uses(key))
+				|| (name != null && name.uses(key));
+		}
+
+		private void refreshGlobals() {
+			globalHeader = resolveGlobal(header);
+			globalFooter = resolveGlobal(footer);
+			globalName = resolveGlobal(name);
+		}
+
+		private String resolveHeader(Player player) {
+			return resolve(header, globalHeader, player);
+		}
+
+		private String resolveFooter(Player player) {
+			return resolve(footer, globalFooter, player);
+		}
+
+		private String resolveName(Player player) {
+			return resolve(name, globalName, player);
+		}
+
+		private static String resolveGlobal(Placeholders.Text text) {
+			if (text == null || !text.isGlobal()) return null;
+			return ChatColor.translateAlternateColorCodes('&', text.resolve(null));
+		}
+
+		private static String resolve(Placeholders.Text text, String global, Player player) {
+			if (text == null) return null;
+			if (global != null) return global;
+			return ChatColor.translateAlternateColorCodes('&', text.resolve(player));
+		}
+	}
+}
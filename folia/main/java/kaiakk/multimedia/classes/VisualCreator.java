@@ -1,34 +1,139 @@
 package kaiakk.multimedia.classes;
 
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.Color;
 import org.bukkit.FireworkEffect;
 import org.bukkit.Location;
 import org.bukkit.Particle;
+import org.bukkit.World;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
 import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Firework;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility for creating visual effects: particles, fireworks, titles, action bars, boss bars.
  * Examples:
  *   VisualCreator.spawnParticle(player.getLocation(), "FLAME", 10);
+ *   VisualCreator.spawnParticleForViewers(loc, Particle.CLOUD, 20); // nearby players, capped per tick
+ *   VisualCreator.playEffect(player, VisualCreator.Shape.helix(40, 2), Particle.FLAME, 2, 0)
+ *       .transform(new VisualCreator.Transform().scale(0.6, 2, 0.6)).spin(10);
  *   VisualCreator.sendTitle(player, "Welcome!", "Enjoy your stay", 10, 70, 20);
  *   VisualCreator.sendActionBar(player, "Health: 20/20");
+ *   VisualCreator.playTitleSequence(player, VisualCreator.createTitleSequence()
+ *       .frame("&6Round 1", "&73", 20).frame("&6Round 1", "&72", 20).frame("&6Round 1", "&71", 20));
  *   BossBar bar = VisualCreator.createBossBar("Boss Fight", BarColor.RED, BarStyle.SOLID);
+ *   // Countdown shown to everyone (including later joins), sent at most every 5 ticks
+ *   VisualCreator.BarGroup countdown = VisualCreator.createBarGroup("countdown", "Starting", BarColor.GREEN, BarStyle.SOLID, true)
+ *       .updateEvery(5);
+ *   countdown.setProgress(remaining / 60.0);
  */
 public final class VisualCreator {
 
 	private VisualCreator() {}
 
-	private static final Map<String, BossBar> activeBossBars = new HashMap<>();
+	private static final Map<String, BossBar> activeBossBars = new ConcurrentHashMap<>();
+	private static final Map<String, BarGroup> barGroups = new ConcurrentHashMap<>();
+	private static final Map<String, Shape> shapeCache = new ConcurrentHashMap<>();
+	private static final Set<ParticleEffect> particleEffects = ConcurrentHashMap.newKeySet();
+	private static JavaPlugin plugin;
+	private static boolean barDriverStarted = false;
+	private static long barTicks = 0;
+	private static boolean effectDriverStarted = false;
+	private static final PlayerRegistry.IntStore particleDensity = PlayerRegistry.newIntStore(100);
+	// Per player: (tick & 0x7FFF) << 16 | particles sent in that tick
+	private static final PlayerRegistry.IntStore particleUsage = PlayerRegistry.newIntStore(0);
+	private static volatile double particleViewDistance = 32.0;
+	private static volatile int particleBudget = 512;
+	private static volatile ActionBarSender actionBarSender;
+	private static final PlayerRegistry.Store<TitlePlayback> titlePlaybacks = PlayerRegistry.newStore();
+	private static boolean titleDriverStarted = false;
+	private static final int MAX_FIREWORK_TEMPLATES = 256;
+	private static final Map<FireworkEffect, FireworkMeta> fireworkMetas = new ConcurrentHashMap<>();
+	private static final Map<FireworkEffect, FireworkMeta> instantFireworkMetas = new ConcurrentHashMap<>();
+	private static final Map<String, List<FireworkRequest>> pendingFireworks = new HashMap<>();
+	private static final Map<String, Integer> fireworkChunkCounts = new HashMap<>();
+	private static final AtomicLong throttledFireworks = new AtomicLong();
+	private static volatile int fireworkGlobalLimit = 64;
+	private static volatile int fireworkChunkLimit = 8;
+	private static long fireworkTick = -1;
+	private static int fireworksThisTick = 0;
+	private static volatile long effectTicks = 0;
+
+	/**
+	 * Initialize VisualCreator: keeps boss bar group viewers in sync with joins and quits.
+	 * @param pluginInstance Plugin instance
+	 */
+	public static void init(JavaPlugin pluginInstance) {
+		if (plugin != null || pluginInstance == null) return; // Already initialized
+		
+		plugin = pluginInstance;
+		actionBarSender(); // Pick the action bar strategy up front
+		try {
+			Bukkit.getPluginManager().registerEvents(new PlayerListener(), plugin);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to register VisualCreator listener: " + t.getMessage());
+		}
+	}
+
+	private static final class PlayerListener implements Listener {
+		@EventHandler(priority = EventPriority.MONITOR)
+		public void onJoin(PlayerJoinEvent event) {
+			Player player = event.getPlayer();
+			for (BarGroup group : barGroups.values()) {
+				if (group.allPlayers) group.bar.addPlayer(player);
+			}
+		}
+
+		// Before PlayerRegistry clears the player's slot at MONITOR
+		@EventHandler(priority = EventPriority.HIGHEST)
+		public void onQuit(PlayerQuitEvent event) {
+			Player player = event.getPlayer();
+			stopTitleSequence(player);
+			// Bars keep a reference to every viewer until removed
+			for (BarGroup group : barGroups.values()) {
+				group.bar.removePlayer(player);
+			}
+			for (BossBar bar : activeBossBars.values()) {
+				bar.removePlayer(player);
+			}
+		}
+	}
 
 	public static void spawnParticle(Location loc, Particle particle, int count) {
 		if (loc == null || particle == null || loc.getWorld() == null) return;
@@ -63,66 +168,736 @@ public final class VisualCreator {
 	}
 
 	public static void spawnParticleCircle(Location center, Particle particle, double radius, int points) {
-		if (center == null || particle == null) return;
-		for (int i = 0; i < points; i++) {
-			double angle = 2 * Math.PI * i / points;
-			double x = center.getX() + radius * Math.cos(angle);
-			double z = center.getZ() + radius * Math.sin(angle);
-			Location point = new Location(center.getWorld(), x, center.getY(), z);
-			spawnParticle(point, particle, 1);
-		}
+		if (center == null || particle == null || points <= 0) return;
+		emitShape(center, Shape.circle(points), new Transform().scale(radius), particle);
 	}
 
 	public static void spawnParticleLine(Location start, Location end, Particle particle, double spacing) {
 		if (start == null || end == null || particle == null) return;
-		if (!start.getWorld().equals(end.getWorld())) return;
+		World world = start.getWorld();
+		if (world == null || !world.equals(end.getWorld()) || spacing <= 0) return;
 		double distance = start.distance(end);
 		int points = (int) (distance / spacing);
-		for (int i = 0; i <= points; i++) {
-			double ratio = (double) i / points;
-			double x = start.getX() + (end.getX() - start.getX()) * ratio;
-			double y = start.getY() + (end.getY() - start.getY()) * ratio;
-			double z = start.getZ() + (end.getZ() - start.getZ()) * ratio;
-			Location point = new Location(start.getWorld(), x, y, z);
-			spawnParticle(point, particle, 1);
+		double stepX = points > 0 ? (end.getX() - start.getX()) / points : 0;
+		double stepY = points > 0 ? (end.getY() - start.getY()) / points : 0;
+		double stepZ = points > 0 ? (end.getZ() - start.getZ()) / points : 0;
+		try {
+			for (int i = 0; i <= points; i++) {
+				world.spawnParticle(particle, start.getX() + stepX * i, start.getY() + stepY * i, start.getZ() + stepZ * i, 1);
+			}
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to spawn particle line: " + t.getMessage());
 		}
 	}
 
-	private static Particle getParticle(String name) {
-		if (name == null) return null;
+	/**
+	 * Spawn particles only for players within the particle view distance. Each player's
+	 * density setting scales the count, and no player gets more than the per-tick budget.
+	 * @param loc Location
+	 * @param particle Particle type
+	 * @param count Particle count
+	 * @param offsetX Random spread on X
+	 * @param offsetY Random spread on Y
+	 * @param offsetZ Random spread on Z
+	 * @param speed Particle speed
+	 * @return Number of players that received particles
+	 */
+	public static int spawnParticleForViewers(Location loc, Particle particle, int count, double offsetX, double offsetY, double offsetZ, double speed) {
+		if (loc == null || particle == null || loc.getWorld() == null || count <= 0) return 0;
 		try {
-			return Particle.valueOf(name.toUpperCase().replace(" ", "_"));
+			ViewerBatch batch = new ViewerBatch();
+			batch.collect(loc.getWorld(), loc.getX(), loc.getY(), loc.getZ());
+			int reached = batch.send(particle, loc.getX(), loc.getY(), loc.getZ(), count, offsetX, offsetY, offsetZ, speed, null);
+			batch.commit();
+			return reached;
 		} catch (Throwable t) {
-			ConsoleLog.warn("Unknown particle: " + name);
-			return null;
+			ConsoleLog.warn("Failed to spawn particle " + particle + ": " + t.getMessage());
+			return 0;
 		}
 	}
 
-	public static void spawnFirework(Location loc, FireworkEffect effect) {
-		if (loc == null || effect == null || loc.getWorld() == null) return;
+	public static int spawnParticleForViewers(Location loc, Particle particle, int count) {
+		return spawnParticleForViewers(loc, particle, count, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Set how many of the viewer-aware particles a player sees, e.g. from a settings menu.
+	 * @param player Target player
+	 * @param percent 0 (none) to 100 (all, default)
+	 */
+	public static void setParticleDensity(Player player, int percent) {
+		particleDensity.set(player, Math.max(0, Math.min(100, percent)));
+	}
+
+	public static int getParticleDensity(Player player) {
+		return particleDensity.get(player);
+	}
+
+	/**
+	 * Set the distance within which players receive viewer-aware particles.
+	 * @param blocks Distance in blocks (default 32)
+	 */
+	public static void setParticleViewDistance(double blocks) {
+		particleViewDistance = Math.max(0.0, blocks);
+	}
+
+	/**
+	 * Set how many viewer-aware particles one player may receive per tick.
+	 * @param particlesPerTick Budget (default 512)
+	 */
+	public static void setParticleBudget(int particlesPerTick) {
+		particleBudget = Math.max(0, Math.min(0xFFFF, particlesPerTick));
+	}
+
+	/**
+	 * Spawn one particle at every point of a shape.
+	 * @param origin Shape origin
+	 * @param shape Unit shape (see Shape)
+	 * @param transform Scale/rotation/offset (null for none)
+	 * @param particle Particle type
+	 */
+	public static void emitShape(Location origin, Shape shape, Transform transform, Particle particle) {
+		if (origin == null || shape == null || particle == null || origin.getWorld() == null) return;
 		try {
-			Firework fw = (Firework) loc.getWorld().spawnEntity(loc, EntityType.FIREWORK);
-			FireworkMeta meta = fw.getFireworkMeta();
-			meta.addEffect(effect);
-			meta.setPower(1);
-			fw.setFireworkMeta(meta);
+			emit(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(), shape,
+				transform != null ? transform : Transform.IDENTITY, particle, null, new double[3]);
 		} catch (Throwable t) {
-			ConsoleLog.warn("Failed to spawn firework: " + t.getMessage());
+			ConsoleLog.warn("Failed to spawn particle shape: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Play a shape at a fixed location every few ticks.
+	 * @param origin Shape origin
+	 * @param shape Unit shape (see Shape)
+	 * @param particle Particle type
+	 * @param intervalTicks Ticks between emissions
+	 * @param durationTicks How long to play (0 or less = until stopped)
+	 * @return Effect handle or null
+	 */
+	public static ParticleEffect playEffect(Location origin, Shape shape, Particle particle, long intervalTicks, long durationTicks) {
+		if (origin == null || origin.getWorld() == null || shape == null || particle == null) return null;
+		return startEffect(new ParticleEffect(origin.clone(), null, shape, particle, intervalTicks, durationTicks));
+	}
+
+	/**
+	 * Play a shape around an entity every few ticks; stops when the entity is gone.
+	 * @param anchor Entity the shape follows
+	 * @param shape Unit shape (see Shape)
+	 * @param particle Particle type
+	 * @param intervalTicks Ticks between emissions
+	 * @param durationTicks How long to play (0 or less = until stopped)
+	 * @return Effect handle or null
+	 */
+	public static ParticleEffect playEffect(Entity anchor, Shape shape, Particle particle, long intervalTicks, long durationTicks) {
+		if (anchor == null || shape == null || particle == null) return null;
+		return startEffect(new ParticleEffect(anchor.getLocation(), anchor, shape, particle, intervalTicks, durationTicks));
+	}
+
+	/**
+	 * Stop every particle effect.
+	 */
+	public static void stopAllEffects() {
+		for (ParticleEffect effect : particleEffects) {
+			effect.stop();
+		}
+		particleEffects.clear();
+	}
+
+	/**
+	 * Get the number of running particle effects.
+	 * @return Effect count
+	 */
+	public static int getEffectCount() {
+		return particleEffects.size();
+	}
+
+	private static ParticleEffect startEffect(ParticleEffect effect) {
+		ensureEffectDriver();
+		effect.nextTick = effectTicks + 1;
+		if (effect.durationTicks > 0) effect.endTick = effectTicks + effect.durationTicks;
+		particleEffects.add(effect);
+		return effect;
+	}
+
+	private static synchronized void ensureEffectDriver() {
+		if (effectDriverStarted) return;
+		
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(owner, VisualCreator::tickEffects, 1L, 1L);
+		effectDriverStarted = true;
+	}
+
+	/**
+	 * Runs every effect whose next tick has come, on the thread that owns its anchor or origin.
+	 */
+	private static void tickEffects() {
+		if (particleEffects.isEmpty()) return;
+		
+		long tick = ++effectTicks;
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		for (ParticleEffect effect : particleEffects) {
+			if (!effect.running || (effect.endTick > 0 && tick > effect.endTick)) {
+				effect.running = false;
+				particleEffects.remove(effect);
+				continue;
+			}
+			if (tick < effect.nextTick || effect.queued) continue;
+			effect.nextTick = tick + effect.intervalTicks;
+			
+			Entity anchor = effect.anchor;
+			boolean owned = anchor != null ? SchedulerHelper.isOwnedByCurrentRegion(anchor) : SchedulerHelper.isOwnedByCurrentRegion(effect.position);
+			if (owned || owner == null) {
+				effect.run();
+			} else {
+				effect.queued = true;
+				if (anchor != null) SchedulerHelper.runAtEntity(owner, anchor, effect::runQueued);
+				else SchedulerHelper.runAtLocation(owner, effect.position, effect::runQueued);
+			}
 		}
 	}
 
+	private static void emit(World world, double originX, double originY, double originZ, Shape shape,
+			Transform transform, Particle particle, Object data, double[] point) {
+		int size = shape.size();
+		for (int i = 0; i < size; i++) {
+			transform.apply(shape, i, point);
+			if (data != null) {
+				world.spawnParticle(particle, originX + point[0], originY + point[1], originZ + point[2], 1, 0, 0, 0, 0, data);
+			} else {
+				world.spawnParticle(particle, originX + point[0], originY + point[1], originZ + point[2], 1);
+			}
+		}
+	}
+
+	private static void emit(ViewerBatch batch, double originX, double originY, double originZ, Shape shape,
+			Transform transform, Particle particle, Object data, double[] point) {
+		int size = shape.size();
+		for (int i = 0; i < size; i++) {
+			transform.apply(shape, i, point);
+			batch.send(particle, originX + point[0], originY + point[1], originZ + point[2], 1, 0, 0, 0, 0, data);
+		}
+	}
+
+	/**
+	 * Players near one emission, with the density and budget each of them has left this tick.
+	 * Budgets are read once before sending; what was sent is added back once after with a
+	 * compare-and-set, so batches running on other regions never overwrite each other's counts.
+	 */
+	private static final class ViewerBatch {
+		private Player[] players = new Player[8];
+		private int[] density = new int[8];
+		private int[] remaining = new int[8];
+		private int[] sent = new int[8];
+		private int size;
+		private int stamp;
+		
+		private void collect(World world, double x, double y, double z) {
+			size = 0;
+			stamp = (int) (SchedulerHelper.currentTick() & 0x7FFF);
+			double range = particleViewDistance;
+			double rangeSquared = range * range;
+			int budget = particleBudget;
+			
+			for (Player player : world.getPlayers()) {
+				Location location = player.getLocation();
+				double dx = location.getX() - x;
+				double dy = location.getY() - y;
+				double dz = location.getZ() - z;
+				if (dx * dx + dy * dy + dz * dz > rangeSquared) continue;
+				
+				int playerDensity = particleDensity.get(player);
+				if (playerDensity <= 0) continue;
+				int usage = particleUsage.get(player);
+				int used = (usage >>> 16) == stamp ? usage & 0xFFFF : 0;
+				if (used >= budget) continue;
+				
+				if (size == players.length) grow();
+				players[size] = player;
+				density[size] = playerDensity;
+				remaining[size] = budget - used;
+				sent[size] = 0;
+				size++;
+			}
+		}
+
+		private int send(Particle particle, double x, double y, double z, int count,
+				double offsetX, double offsetY, double offsetZ, double speed, Object data) {
+			int reached = 0;
+			for (int i = 0; i < size; i++) {
+				int amount = scale(count, density[i]);
+				if (amount > remaining[i]) amount = remaining[i];
+				if (amount <= 0) continue;
+				
+				if (data != null) {
+					players[i].spawnParticle(particle, x, y, z, amount, offsetX, offsetY, offsetZ, speed, data);
+				} else {
+					players[i].spawnParticle(particle, x, y, z, amount, offsetX, offsetY, offsetZ, speed);
+				}
+				remaining[i] -= amount;
+				sent[i] += amount;
+				reached++;
+			}
+			return reached;
+		}
+
+		private void commit() {
+			for (int i = 0; i < size; i++) {
+				if (sent[i] > 0) addUsage(players[i], sent[i]);
+				players[i] = null;
+			}
+			size = 0;
+		}
+
+		private void addUsage(Player player, int amount) {
+			while (true) {
+				int usage = particleUsage.get(player);
+				int used = (usage >>> 16) == stamp ? usage & 0xFFFF : 0;
+				int next = stamp << 16 | Math.min(used + amount, 0xFFFF);
+				if (particleUsage.compareAndSet(player, usage, next)) return;
+				if (PlayerRegistry.id(player) < 0) return; // Went offline
+			}
+		}
+
+		private static int scale(int count, int percent) {
+			if (percent >= 100) return count;
+			int scaled = count * percent / 100;
+			// Keep low densities visible: the leftover fraction becomes a chance for one more
+			int leftover = count * percent % 100;
+			if (leftover > 0 && ThreadLocalRandom.current().nextInt(100) < leftover) scaled++;
+			return scaled;
+		}
+
+		private void grow() {
+			int capacity = players.length * 2;
+			players = Arrays.copyOf(players, capacity);
+			density = Arrays.copyOf(density, capacity);
+			remaining = Arrays.copyOf(remaining, capacity);
+			sent = Arrays.copyOf(sent, capacity);
+		}
+	}
+
+	/**
+	 * Unit-sized point table for a particle shape. Tables are computed once per
+	 * shape and resolution and shared by every caller.
+	 */
+	public static final class Shape {
+		private final double[] xs;
+		private final double[] ys;
+		private final double[] zs;
+		
+		private Shape(int size) {
+			this.xs = new double[size];
+			this.ys = new double[size];
+			this.zs = new double[size];
+		}
+
+		/**
+		 * Flat circle of radius 1 around the origin.
+		 * @param points Number of points
+		 * @return Shape
+		 */
+		public static Shape circle(int points) {
+			int size = Math.max(1, points);
+			return shapeCache.computeIfAbsent("circle:" + size, key -> {
+				Shape shape = new Shape(size);
+				for (int i = 0; i < size; i++) {
+					double angle = 2 * Math.PI * i / size;
+					shape.xs[i] = Math.cos(angle);
+					shape.zs[i] = Math.sin(angle);
+				}
+				return shape;
+			});
+		}
+
+		/**
+		 * Evenly spread points on a sphere of radius 1 around the origin.
+		 * @param points Number of points
+		 * @return Shape
+		 */
+		public static Shape sphere(int points) {
+			int size = Math.max(1, points);
+			return shapeCache.computeIfAbsent("sphere:" + size, key -> {
+				Shape shape = new Shape(size);
+				double golden = Math.PI * (3 - Math.sqrt(5));
+				for (int i = 0; i < size; i++) {
+					double y = size > 1 ? 1 - 2.0 * i / (size - 1) : 0;
+					double ring = Math.sqrt(1 - y * y);
+					double angle = golden * i;
+					shape.xs[i] = Math.cos(angle) * ring;
+					shape.ys[i] = y;
+					shape.zs[i] = Math.sin(angle) * ring;
+				}
+				return shape;
+			});
+		}
+
+		/**
+		 * Helix of radius 1 rising from the origin to a height of 1.
+		 * @param points Number of points
+		 * @param turns Number of full turns
+		 * @return Shape
+		 */
+		public static Shape helix(int points, double turns) {
+			int size = Math.max(1, points);
+			return shapeCache.computeIfAbsent("helix:" + size + ":" + turns, key -> {
+				Shape shape = new Shape(size);
+				for (int i = 0; i < size; i++) {
+					double progress = size > 1 ? (double) i / (size - 1) : 0;
+					double angle = 2 * Math.PI * turns * progress;
+					shape.xs[i] = Math.cos(angle);
+					shape.ys[i] = progress;
+					shape.zs[i] = Math.sin(angle);
+				}
+				return shape;
+			});
+		}
+
+		/**
+		 * Straight line from the origin to 1 block along +Z; rotate and scale it into place.
+		 * @param points Number of points
+		 * @return Shape
+		 */
+		public static Shape line(int points) {
+			int size = Math.max(1, points);
+			return shapeCache.computeIfAbsent("line:" + size, key -> {
+				Shape shape = new Shape(size);
+				for (int i = 0; i < size; i++) {
+					shape.zs[i] = size > 1 ? (double) i / (size - 1) : 0;
+				}
+				return shape;
+			});
+		}
+
+		public int size() { return xs.length; }
+	}
+
+	/**
+	 * Scale, then rotate (pitch, then yaw), then offset applied to a shape's points.
+	 * The rotation matrix is computed once per change, not per point.
+	 */
+	public static final class Transform {
+		private static final Transform IDENTITY = new Transform();
+		
+		private double scaleX = 1, scaleY = 1, scaleZ = 1;
+		private double yaw, pitch;
+		private double offsetX, offsetY, offsetZ;
+		private double m00 = 1, m01, m02, m10, m11 = 1, m12, m20, m21, m22 = 1;
+		
+		public Transform() {}
+		
+		public Transform scale(double factor) {
+			return scale(factor, factor, factor);
+		}
+
+		public Transform scale(double x, double y, double z) {
+			this.scaleX = x;
+			this.scaleY = y;
+			this.scaleZ = z;
+			return this;
+		}
+
+		/**
+		 * Set the rotation.
+		 * @param yawDegrees Rotation around the vertical axis
+		 * @param pitchDegrees Tilt around the X axis
+		 * @return This transform
+		 */
+		public Transform rotate(double yawDegrees, double pitchDegrees) {
+			this.yaw = yawDegrees;
+			this.pitch = pitchDegrees;
+			double yawRad = Math.toRadians(yawDegrees);
+			double pitchRad = Math.toRadians(pitchDegrees);
+			double cy = Math.cos(yawRad), sy = Math.sin(yawRad);
+			double cp = Math.cos(pitchRad), sp = Math.sin(pitchRad);
+			m00 = cy;  m01 = sy * sp;  m02 = sy * cp;
+			m10 = 0;   m11 = cp;       m12 = -sp;
+			m20 = -sy; m21 = cy * sp;  m22 = cy * cp;
+			return this;
+		}
+
+		public Transform translate(double x, double y, double z) {
+			this.offsetX = x;
+			this.offsetY = y;
+			this.offsetZ = z;
+			return this;
+		}
+
+		public double getYaw() { return yaw; }
+		public double getPitch() { return pitch; }
+		
+		public Transform copy() {
+			Transform copy = new Transform().scale(scaleX, scaleY, scaleZ).translate(offsetX, offsetY, offsetZ);
+			return copy.rotate(yaw, pitch);
+		}
+
+		private void apply(Shape shape, int index, double[] out) {
+			double x = shape.xs[index] * scaleX;
+			double y = shape.ys[index] * scaleY;
+			double z = shape.zs[index] * scaleZ;
+			out[0] = m00 * x + m01 * y + m02 * z + offsetX;
+			out[1] = m10 * x + m11 * y + m12 * z + offsetY;
+			out[2] = m20 * x + m21 * y + m22 * z + offsetZ;
+		}
+	}
+
+	/**
+	 * A shape played every few ticks at a location or around an entity.
+	 * Each effect keeps its own position and point buffer, so emitting allocates nothing.
+	 */
+	public static final class ParticleEffect {
+		private final Location position;
+		private final Entity anchor;
+		private final Shape shape;
+		private final Particle particle;
+		private final long intervalTicks;
+		private final long durationTicks;
+		private final double[] point = new double[3];
+		private volatile Transform transform = Transform.IDENTITY;
+		private volatile double spinDegrees;
+		private volatile Object data;
+		private volatile boolean running = true;
+		private volatile boolean queued;
+		private volatile ViewerBatch viewers;
+		private long nextTick;
+		private long endTick;
+		
+		private ParticleEffect(Location position, Entity anchor, Shape shape, Particle particle, long intervalTicks, long durationTicks) {
+			this.position = position;
+			this.anchor = anchor;
+			this.shape = shape;
+			this.particle = particle;
+			this.intervalTicks = Math.max(1L, intervalTicks);
+			this.durationTicks = durationTicks;
+		}
+
+		/**
+		 * Set the scale/rotation/offset. The transform is copied.
+		 * @param transform Transform (null for none)
+		 * @return This effect
+		 */
+		public ParticleEffect transform(Transform transform) {
+			this.transform = transform != null ? transform.copy() : Transform.IDENTITY;
+			return this;
+		}
+
+		/**
+		 * Turn the shape around the vertical axis on every emission.
+		 * @param degreesPerEmission Yaw added each time the effect plays
+		 * @return This effect
+		 */
+		public ParticleEffect spin(double degreesPerEmission) {
+			this.spinDegrees = degreesPerEmission;
+			return this;
+		}
+
+		/**
+		 * Set particle data (e.g. Particle.DustOptions for REDSTONE).
+		 * @param data Particle data (null for none)
+		 * @return This effect
+		 */
+		public ParticleEffect data(Object data) {
+			this.data = data;
+			return this;
+		}
+
+		/**
+		 * Send through Player.spawnParticle to nearby players only, honouring their
+		 * density setting and per-tick budget (see spawnParticleForViewers).
+		 * @param viewerAware true to enable
+		 * @return This effect
+		 */
+		public ParticleEffect viewerAware(boolean viewerAware) {
+			this.viewers = viewerAware ? new ViewerBatch() : null;
+			return this;
+		}
+
+		public void stop() {
+			running = false;
+		}
+
+		public boolean isRunning() { return running; }
+		public Shape getShape() { return shape; }
+		public Particle getParticle() { return particle; }
+		
+		private void runQueued() {
+			queued = false;
+			run();
+		}
+
+		private void run() {
+			if (!running) return;
+			try {
+				if (anchor != null) {
+					if (!anchor.isValid()) {
+						stop();
+						return;
+					}
+					anchor.getLocation(position);
+				}
+				World world = position.getWorld();
+				if (world == null) return;
+				
+				Transform current = transform;
+				if (spinDegrees != 0) {
+					if (current == Transform.IDENTITY) current = new Transform();
+					current.rotate(current.getYaw() + spinDegrees, current.getPitch());
+					transform = current;
+				}
+				ViewerBatch batch = viewers;
+				synchronized (point) {
+					if (batch == null) {
+						emit(world, position.getX(), position.getY(), position.getZ(), shape, current, particle, data, point);
+						return;
+					}
+					batch.collect(world, position.getX(), position.getY(), position.getZ());
+					emit(batch, position.getX(), position.getY(), position.getZ(), shape, current, particle, data, point);
+					batch.commit();
+				}
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to play particle effect: " + t.getMessage());
+				stop();
+			}
+		}
+	}
+
+	private static Particle getParticle(String name) {
+		if (name == null) return null;
+		Particle particle = NameResolver.particle(name);
+		if (particle == null) ConsoleLog.warn("Unknown particle: " + name);
+		return particle;
+	}
+
+	public static void spawnFirework(Location loc, FireworkEffect effect) {
+		launchFirework(loc, effect, false);
+	}
+
 	public static void spawnInstantFirework(Location loc, FireworkEffect effect) {
+		launchFirework(loc, effect, true);
+	}
+
+	/**
+	 * Limit how many fireworks may be spawned; extra fireworks are dropped.
+	 * @param perTick Fireworks per tick across the server (default 64)
+	 * @param perChunkPerTick Fireworks per tick in one chunk (default 8)
+	 */
+	public static void setFireworkLimits(int perTick, int perChunkPerTick) {
+		fireworkGlobalLimit = Math.max(0, perTick);
+		fireworkChunkLimit = Math.max(0, perChunkPerTick);
+	}
+
+	/**
+	 * Get how many fireworks were dropped by the rate limits.
+	 * @return Dropped firework count
+	 */
+	public static long getThrottledFireworkCount() {
+		return throttledFireworks.get();
+	}
+
+	/**
+	 * Spawns right away on the thread that owns the location; from anywhere else the
+	 * firework joins its chunk's batch, which is spawned by one task on the owning region.
+	 */
+	private static void launchFirework(Location loc, FireworkEffect effect, boolean instant) {
 		if (loc == null || effect == null || loc.getWorld() == null) return;
+		
+		String chunk = loc.getWorld().getName() + ':' + (loc.getBlockX() >> 4) + ':' + (loc.getBlockZ() >> 4);
+		if (!acquireFireworkSlot(chunk)) {
+			throttledFireworks.incrementAndGet();
+			return;
+		}
+		
+		Location spawnAt = loc.clone();
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null || SchedulerHelper.isOwnedByCurrentRegion(spawnAt)) {
+			spawnFireworkNow(spawnAt, effect, instant);
+			return;
+		}
+		
+		boolean first;
+		synchronized (pendingFireworks) {
+			List<FireworkRequest> batch = pendingFireworks.get(chunk);
+			first = batch == null;
+			if (first) {
+				batch = new ArrayList<>();
+				pendingFireworks.put(chunk, batch);
+			}
+			batch.add(new FireworkRequest(spawnAt, effect, instant));
+		}
+		if (first) {
+			SchedulerHelper.runAtLocation(owner, spawnAt, () -> {
+				List<FireworkRequest> batch;
+				synchronized (pendingFireworks) {
+					batch = pendingFireworks.remove(chunk);
+				}
+				if (batch == null) return;
+				for (FireworkRequest request : batch) {
+					spawnFireworkNow(request.location, request.effect, request.instant);
+				}
+			});
+		}
+	}
+
+	private static boolean acquireFireworkSlot(String chunk) {
+		long tick = SchedulerHelper.currentTick();
+		synchronized (fireworkChunkCounts) {
+			if (tick != fireworkTick) {
+				fireworkTick = tick;
+				fireworksThisTick = 0;
+				fireworkChunkCounts.clear();
+			}
+			if (fireworksThisTick >= fireworkGlobalLimit) return false;
+			
+			int inChunk = fireworkChunkCounts.getOrDefault(chunk, 0);
+			if (inChunk >= fireworkChunkLimit) return false;
+			
+			fireworkChunkCounts.put(chunk, inChunk + 1);
+			fireworksThisTick++;
+			return true;
+		}
+	}
+
+	private static void spawnFireworkNow(Location loc, FireworkEffect effect, boolean instant) {
 		try {
 			Firework fw = (Firework) loc.getWorld().spawnEntity(loc, EntityType.FIREWORK);
-			FireworkMeta meta = fw.getFireworkMeta();
-			meta.addEffect(effect);
-			meta.setPower(0);
-			fw.setFireworkMeta(meta);
-			// Detonate immediately
-			SchedulerHelper.runLater(null, () -> fw.detonate(), 1);
+			fw.setFireworkMeta(fireworkMeta(fw, effect, instant));
+			// detonate() takes effect on the firework's next tick, so no delayed task is needed
+			if (instant) fw.detonate();
 		} catch (Throwable t) {
-			ConsoleLog.warn("Failed to spawn instant firework: " + t.getMessage());
+			ConsoleLog.warn("Failed to spawn " + (instant ? "instant " : "") + "firework: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Meta for an effect, built once and then reused; setFireworkMeta copies it.
+	 */
+	private static FireworkMeta fireworkMeta(Firework fw, FireworkEffect effect, boolean instant) {
+		Map<FireworkEffect, FireworkMeta> cache = instant ? instantFireworkMetas : fireworkMetas;
+		FireworkMeta meta = cache.get(effect);
+		if (meta != null) return meta;
+		
+		meta = fw.getFireworkMeta();
+		meta.addEffect(effect);
+		meta.setPower(instant ? 0 : 1);
+		if (cache.size() >= MAX_FIREWORK_TEMPLATES) cache.clear();
+		cache.put(effect, meta.clone());
+		return meta;
+	}
+
+	private static final class FireworkRequest {
+		private final Location location;
+		private final FireworkEffect effect;
+		private final boolean instant;
+		
+		private FireworkRequest(Location location, FireworkEffect effect, boolean instant) {
+			this.location = location;
+			this.effect = effect;
+			this.instant = instant;
 		}
 	}
 
@@ -144,12 +919,7 @@ public final class VisualCreator {
 	}
 
 	private static FireworkEffect.Type getFireworkType(String name) {
-		if (name == null) return null;
-		try {
-			return FireworkEffect.Type.valueOf(name.toUpperCase().replace(" ", "_"));
-		} catch (Throwable t) {
-			return null;
-		}
+		return NameResolver.fireworkType(name);
 	}
 
 	public static void sendTitle(Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
@@ -173,6 +943,270 @@ public final class VisualCreator {
 		sendTitle(player, title, "", 10, 70, 20);
 	}
 
+	/**
+	 * Create a title sequence: a timeline of title/subtitle frames.
+	 * @return New sequence
+	 */
+	public static TitleSequence createTitleSequence() {
+		return new TitleSequence();
+	}
+
+	/**
+	 * Play a title sequence to a player, replacing any sequence they are watching.
+	 * All sequences are driven by one shared task and stop when the player quits.
+	 * @param player Target player
+	 * @param sequence Sequence to play
+	 * @return Playback handle or null
+	 */
+	public static TitlePlayback playTitleSequence(Player player, TitleSequence sequence) {
+		if (player == null || sequence == null) return null;
+		return startTitleSequence(player, sequence.compile(), sequence.loop);
+	}
+
+	/**
+	 * Play a title sequence to a group of players; frames are built once for all of them.
+	 * @param players Target players
+	 * @param sequence Sequence to play
+	 */
+	public static void playTitleSequence(Collection<? extends Player> players, TitleSequence sequence) {
+		if (players == null || sequence == null) return;
+		TitleFrame[] frames = sequence.compile();
+		for (Player player : players) {
+			startTitleSequence(player, frames, sequence.loop);
+		}
+	}
+
+	/**
+	 * Stop the title sequence a player is watching (the current title fades out normally).
+	 * @param player Target player
+	 * @return true if a sequence was playing
+	 */
+	public static boolean stopTitleSequence(Player player) {
+		if (player == null) return false;
+		TitlePlayback playback = titlePlaybacks.remove(player);
+		if (playback == null) return false;
+		playback.stop();
+		return true;
+	}
+
+	private static TitlePlayback startTitleSequence(Player player, TitleFrame[] frames, boolean loop) {
+		if (player == null || frames.length == 0) return null;
+		
+		ensureTitleDriver();
+		TitlePlayback playback = new TitlePlayback(player, frames, loop);
+		TitlePlayback previous = titlePlaybacks.set(player, playback);
+		if (previous != null) previous.stop();
+		if (titlePlaybacks.get(player) != playback) return null; // Not online
+		return playback;
+	}
+
+	private static synchronized void ensureTitleDriver() {
+		if (titleDriverStarted) return;
+		
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(owner, VisualCreator::tickTitleSequences, 1L, 1L);
+		titleDriverStarted = true;
+	}
+
+	private static void tickTitleSequences() {
+		titlePlaybacks.forEachWithId((playback, id) -> {
+			Player player = PlayerRegistry.getPlayer(id);
+			if (player == null || !playback.running) {
+				titlePlaybacks.remove(id);
+				playback.stop();
+				return;
+			}
+			
+			TitleFrame current = playback.current();
+			TitleFrame next = playback.advance();
+			if (next == null) {
+				titlePlaybacks.remove(id);
+				return;
+			}
+			if (next == current && !playback.restarted) return;
+			// A loop starts over with a full send so the title's hold time is renewed
+			TitleFrame previous = playback.restarted ? null : current;
+			if (previous != null && next.title.equals(previous.title) && next.subtitle.equals(previous.subtitle)) return;
+			
+			runForPlayer(player, () -> {
+				try {
+					showTitleFrame(player, previous, next);
+				} catch (Throwable t) {
+					ConsoleLog.warn("Failed to send title: " + t.getMessage());
+				}
+			});
+		});
+	}
+
+	/**
+	 * Show one frame with title parts: a subtitle-only change sends just the subtitle,
+	 * and times are only sent along with a new title.
+	 */
+	private static void showTitleFrame(Player player, TitleFrame previous, TitleFrame frame) {
+		boolean titleChanged = previous == null || !previous.title.equals(frame.title);
+		boolean subtitleChanged = previous == null || !previous.subtitle.equals(frame.subtitle);
+		if (titleChanged) {
+			player.sendTitlePart(TitlePart.TIMES, Title.Times.times(Duration.ofMillis(frame.fadeIn * 50L),
+				Duration.ofMillis(frame.hold * 50L), Duration.ofMillis(frame.fadeOut * 50L)));
+			if (subtitleChanged) player.sendTitlePart(TitlePart.SUBTITLE, legacy(frame.subtitle));
+			player.sendTitlePart(TitlePart.TITLE, legacy(frame.title));
+		} else if (subtitleChanged) {
+			player.sendTitlePart(TitlePart.SUBTITLE, legacy(frame.subtitle));
+		}
+	}
+
+	private static void runForPlayer(Player player, Runnable task) {
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null || SchedulerHelper.isOwnedByCurrentRegion(player)) {
+			task.run();
+			return;
+		}
+		SchedulerHelper.runAtEntity(owner, player, task);
+	}
+
+	/**
+	 * One step of a title sequence. hold covers every following frame with the same
+	 * title, so the title stays up while only the subtitle changes.
+	 */
+	private static final class TitleFrame {
+		private final String title;
+		private final String subtitle;
+		private final int duration;
+		private final int fadeIn;
+		private final int fadeOut;
+		private int hold;
+		
+		private TitleFrame(String title, String subtitle, int duration, int fadeIn, int fadeOut) {
+			this.title = title;
+			this.subtitle = subtitle;
+			this.duration = duration;
+			this.fadeIn = fadeIn;
+			this.fadeOut = fadeOut;
+		}
+	}
+
+	/**
+	 * Timeline of title/subtitle frames.
+	 */
+	public static final class TitleSequence {
+		private final List<String[]> frames = new ArrayList<>();
+		private final List<Integer> durations = new ArrayList<>();
+		private int fadeIn = 10;
+		private int fadeOut = 20;
+		private boolean loop = false;
+		
+		private TitleSequence() {}
+
+		/**
+		 * Add a frame.
+		 * @param title Title text (supports color codes with &)
+		 * @param subtitle Subtitle text (supports color codes with &)
+		 * @param ticks How long the frame stays before the next one
+		 * @return This sequence
+		 */
+		public TitleSequence frame(String title, String subtitle, int ticks) {
+			frames.add(new String[]{
+				title != null ? ChatColor.translateAlternateColorCodes('&', title) : "",
+				subtitle != null ? ChatColor.translateAlternateColorCodes('&', subtitle) : ""
+			});
+			durations.add(Math.max(1, ticks));
+			return this;
+		}
+
+		/**
+		 * Set fade-in and fade-out, applied whenever the title text changes.
+		 * @param fadeInTicks Fade-in ticks (default 10)
+		 * @param fadeOutTicks Fade-out ticks (default 20)
+		 * @return This sequence
+		 */
+		public TitleSequence fade(int fadeInTicks, int fadeOutTicks) {
+			this.fadeIn = Math.max(0, fadeInTicks);
+			this.fadeOut = Math.max(0, fadeOutTicks);
+			return this;
+		}
+
+		/**
+		 * Restart from the first frame after the last one, until stopped.
+		 * @param loop true to loop
+		 * @return This sequence
+		 */
+		public TitleSequence loop(boolean loop) {
+			this.loop = loop;
+			return this;
+		}
+
+		public int getFrameCount() { return frames.size(); }
+		
+		private TitleFrame[] compile() {
+			TitleFrame[] compiled = new TitleFrame[frames.size()];
+			for (int i = 0; i < compiled.length; i++) {
+				String[] text = frames.get(i);
+				compiled[i] = new TitleFrame(text[0], text[1], durations.get(i), fadeIn, fadeOut);
+			}
+			for (int i = compiled.length - 1; i >= 0; i--) {
+				TitleFrame next = i + 1 < compiled.length ? compiled[i + 1] : null;
+				compiled[i].hold = compiled[i].duration + (next != null && next.title.equals(compiled[i].title) ? next.hold : 0);
+			}
+			return compiled;
+		}
+	}
+
+	/**
+	 * A title sequence playing for one player.
+	 */
+	public static final class TitlePlayback {
+		private final Player player;
+		private final TitleFrame[] frames;
+		private final boolean loop;
+		private volatile boolean running = true;
+		private int index = -1;
+		private int remaining = 0;
+		private boolean restarted = false;
+		
+		private TitlePlayback(Player player, TitleFrame[] frames, boolean loop) {
+			this.player = player;
+			this.frames = frames;
+			this.loop = loop;
+		}
+
+		public void stop() {
+			running = false;
+		}
+
+		public boolean isRunning() { return running; }
+		public Player getPlayer() { return player; }
+		
+		private TitleFrame current() {
+			return index >= 0 && index < frames.length ? frames[index] : null;
+		}
+
+		/**
+		 * Move one tick forward.
+		 * @return Frame to show now, or null when the sequence is over
+		 */
+		private TitleFrame advance() {
+			restarted = false;
+			if (--remaining > 0) return frames[index];
+			
+			index++;
+			if (index >= frames.length) {
+				if (!loop) {
+					running = false;
+					return null;
+				}
+				index = 0;
+				restarted = true;
+			}
+			remaining = frames[index].duration;
+			return frames[index];
+		}
+	}
+
 	public static void clearTitle(Player player) {
 		if (player == null) return;
 		try {
@@ -183,8 +1217,13 @@ public final class VisualCreator {
 	}
 
 	public static void broadcastTitle(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
-		for (Player p : Bukkit.getOnlinePlayers()) {
-			sendTitle(p, title, subtitle, fadeIn, stay, fadeOut);
+		try {
+			// One Title for every player instead of one per recipient
+			Title built = Title.title(legacy(title), legacy(subtitle), Title.Times.times(
+				Duration.ofMillis(fadeIn * 50L), Duration.ofMillis(stay * 50L), Duration.ofMillis(fadeOut * 50L)));
+			onlinePlayers().showTitle(built);
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to broadcast title: " + t.getMessage());
 		}
 	}
 
@@ -195,42 +1234,148 @@ public final class VisualCreator {
 	public static void sendActionBar(Player player, String message) {
 		if (player == null || message == null) return;
 		try {
-			// Try modern API first (1.16+)
-			try {
-				java.lang.reflect.Method method = Player.class.getMethod("sendActionBar", String.class);
-				method.invoke(player, message);
-				return;
-			} catch (NoSuchMethodException ignored) {}
-			
-			// Fallback for older versions using packets
-			String version = org.bukkit.Bukkit.getServer().getClass().getPackage().getName().split("\\.")[3];
+			ActionBarSender sender = actionBarSender();
+			sender.send(player, sender.prepare(message));
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to send action bar: " + t.getMessage());
+		}
+	}
+
+	/**
+	 * Sends action bar messages. Resolved once, so sending is a single call; the payload
+	 * is prepared once per message and can be sent to any number of players.
+	 */
+	private interface ActionBarSender {
+		Object prepare(String message) throws Throwable;
+		
+		void send(Player player, Object payload) throws Throwable;
+	}
+
+	private static ActionBarSender actionBarSender() {
+		ActionBarSender sender = actionBarSender;
+		if (sender == null) {
+			sender = resolveActionBarSender();
+			actionBarSender = sender;
+		}
+		return sender;
+	}
+
+	private static ActionBarSender resolveActionBarSender() {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		
+		// Paper: Player#sendActionBar(String)
+		try {
+			MethodHandle handle = lookup.findVirtual(Player.class, "sendActionBar", MethodType.methodType(void.class, String.class));
+			return new ActionBarSender() {
+				@Override
+				public Object prepare(String message) {
+					return message;
+				}
+				
+				@Override
+				public void send(Player player, Object payload) throws Throwable {
+					handle.invoke(player, (String) payload);
+				}
+			};
+		} catch (Throwable ignored) {}
+		
+		// Spigot 1.9+: chat components with an action bar position
+		try {
+			Player.Spigot.class.getMethod("sendMessage", ChatMessageType.class, BaseComponent[].class);
+			return new ActionBarSender() {
+				@Override
+				public Object prepare(String message) {
+					return TextComponent.fromLegacyText(message);
+				}
+				
+				@Override
+				public void send(Player player, Object payload) {
+					player.spigot().sendMessage(ChatMessageType.ACTION_BAR, (BaseComponent[]) payload);
+				}
+			};
+		} catch (Throwable ignored) {}
+		
+		// Older servers: build the chat packet through NMS, with every handle looked up once
+		try {
+			String version = Bukkit.getServer().getClass().getPackage().getName().split("\\.")[3];
+			String nms = "net.minecraft.server." + version + ".";
 			Class<?> craftPlayerClass = Class.forName("org.bukkit.craftbukkit." + version + ".entity.CraftPlayer");
-			Object craftPlayer = craftPlayerClass.cast(player);
-			Object handle = craftPlayerClass.getMethod("getHandle").invoke(craftPlayer);
-			
-			Class<?> packetClass = Class.forName("net.minecraft.server." + version + ".PacketPlayOutChat");
-			Class<?> chatComponentClass = Class.forName("net.minecraft.server." + version + ".IChatBaseComponent");
-			Class<?> chatSerializerClass = Class.forName("net.minecraft.server." + version + ".IChatBaseComponent$ChatSerializer");
-			
-			java.lang.reflect.Method a = chatSerializerClass.getDeclaredMethod("a", String.class);
-			Object chatComponent = a.invoke(null, "{\"text\":\"" + message.replace("\"", "\\\"") + "\"}");
+			Class<?> entityPlayerClass = Class.forName(nms + "EntityPlayer");
+			Class<?> connectionClass = Class.forName(nms + "PlayerConnection");
+			Class<?> packetClass = Class.forName(nms + "Packet");
+			Class<?> chatPacketClass = Class.forName(nms + "PacketPlayOutChat");
+			Class<?> chatComponentClass = Class.forName(nms + "IChatBaseComponent");
+			Class<?> chatSerializerClass = Class.forName(nms + "IChatBaseComponent$ChatSerializer");
 			
-			java.lang.reflect.Constructor<?> packetConstructor = packetClass.getConstructor(chatComponentClass, byte.class);
-			Object packet = packetConstructor.newInstance(chatComponent, (byte) 2);
+			MethodHandles.Lookup privateLookup = MethodHandles.lookup();
+			MethodHandle getHandle = privateLookup.unreflect(craftPlayerClass.getMethod("getHandle"));
+			MethodHandle getConnection = privateLookup.unreflectGetter(entityPlayerClass.getField("playerConnection"));
+			MethodHandle sendPacket = privateLookup.unreflect(connectionClass.getMethod("sendPacket", packetClass));
+			java.lang.reflect.Method serializer = chatSerializerClass.getDeclaredMethod("a", String.class);
+			serializer.setAccessible(true);
+			MethodHandle toComponent = privateLookup.unreflect(serializer);
+			MethodHandle newPacket = privateLookup.unreflectConstructor(chatPacketClass.getConstructor(chatComponentClass, byte.class));
 			
-			Object connection = handle.getClass().getField("playerConnection").get(handle);
-			connection.getClass().getMethod("sendPacket", Class.forName("net.minecraft.server." + version + ".Packet")).invoke(connection, packet);
+			return new ActionBarSender() {
+				@Override
+				public Object prepare(String message) throws Throwable {
+					Object component = toComponent.invoke("{\"text\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}");
+					return newPacket.invoke(component, (byte) 2);
+				}
+				
+				@Override
+				public void send(Player player, Object payload) throws Throwable {
+					Object connection = getConnection.invoke(getHandle.invoke(player));
+					sendPacket.invoke(connection, payload);
+				}
+			};
 		} catch (Throwable t) {
-			ConsoleLog.warn("Failed to send action bar: " + t.getMessage());
+			ConsoleLog.warn("No action bar support on this server: " + t.getMessage());
 		}
+		
+		return new ActionBarSender() {
+			@Override
+			public Object prepare(String message) {
+				return message;
+			}
+			
+			@Override
+			public void send(Player player, Object payload) {}
+		};
 	}
 
 	public static void broadcastActionBar(String message) {
-		for (Player p : Bukkit.getOnlinePlayers()) {
-			sendActionBar(p, message);
+		if (message == null) return;
+		try {
+			onlinePlayers().sendActionBar(legacy(message));
+		} catch (Throwable t) {
+			ConsoleLog.warn("Failed to broadcast action bar: " + t.getMessage());
 		}
 	}
 
+	private static Audience onlinePlayers() {
+		return Audience.audience(Bukkit.getOnlinePlayers());
+	}
+
+	private static Component legacy(String text) {
+		return LegacyComponentSerializer.legacySection().deserialize(text == null ? "" : text);
+	}
+
+	/**
+	 * Create floating text (see Holograms); it follows chunk loads and unloads.
+	 * @param id Hologram id
+	 * @param loc Location of the top line
+	 * @param lines Lines, top first (supports color codes with &)
+	 * @return Hologram or null
+	 */
+	public static Holograms.Hologram createHologram(String id, Location loc, String... lines) {
+		return Holograms.create(id, loc, lines);
+	}
+
+	public static void removeHologram(String id) {
+		Holograms.remove(id);
+	}
+
 	public static BossBar createBossBar(String title, BarColor color, BarStyle style) {
 		if (title == null) title = "";
 		if (color == null) color = BarColor.WHITE;
@@ -271,12 +1416,14 @@ public final class VisualCreator {
 
 	public static void setBossBarProgress(BossBar bar, double progress) {
 		if (bar == null) return;
-		bar.setProgress(Math.max(0.0, Math.min(1.0, progress)));
+		double clamped = Math.max(0.0, Math.min(1.0, progress));
+		if (bar.getProgress() != clamped) bar.setProgress(clamped);
 	}
 
 	public static void setBossBarTitle(BossBar bar, String title) {
 		if (bar == null) return;
-		bar.setTitle(title == null ? "" : title);
+		String text = title == null ? "" : title;
+		if (!text.equals(bar.getTitle())) bar.setTitle(text);
 	}
 
 	public static void setBossBarColor(BossBar bar, BarColor color) {
@@ -285,12 +1432,8 @@ public final class VisualCreator {
 	}
 
 	public static BossBar getOrCreateBossBar(String id, String title, BarColor color, BarStyle style) {
-		if (activeBossBars.containsKey(id)) {
-			return activeBossBars.get(id);
-		}
-		BossBar bar = createBossBar(title, color, style);
-		if (bar != null) activeBossBars.put(id, bar);
-		return bar;
+		if (id == null) return null;
+		return activeBossBars.computeIfAbsent(id, key -> createBossBar(title, color, style));
 	}
 
 	public static void removeBossBar(String id) {
@@ -305,6 +1448,222 @@ public final class VisualCreator {
 			if (bar != null) bar.removeAll();
 		}
 		activeBossBars.clear();
+		for (BarGroup group : barGroups.values()) {
+			group.bar.removeAll();
+		}
+		barGroups.clear();
+	}
+
+	/**
+	 * Create (or get) a boss bar group. Progress and title changes are coalesced and sent
+	 * by one shared task, at most once per update interval per group.
+	 * Needs init() to follow joins and quits.
+	 * @param id Group id
+	 * @param title Bar title
+	 * @param color Bar color
+	 * @param style Bar style
+	 * @param allPlayers true to show the bar to every online player, including later joins
+	 * @return Bar group or null if the bar could not be created
+	 */
+	public static BarGroup createBarGroup(String id, String title, BarColor color, BarStyle style, boolean allPlayers) {
+		if (id == null) return null;
+		
+		BarGroup group = barGroups.computeIfAbsent(id, key -> {
+			BossBar bar = createBossBar(title, color, style);
+			return bar != null ? new BarGroup(key, bar) : null;
+		});
+		if (group == null) return null;
+		
+		ensureBarDriver();
+		if (allPlayers) group.showToAll();
+		return group;
+	}
+
+	/**
+	 * Get a boss bar group.
+	 * @param id Group id
+	 * @return Bar group or null
+	 */
+	public static BarGroup getBarGroup(String id) {
+		return id != null ? barGroups.get(id) : null;
+	}
+
+	/**
+	 * Remove a boss bar group and hide it from all viewers.
+	 * @param id Group id
+	 * @return true if the group existed
+	 */
+	public static boolean removeBarGroup(String id) {
+		if (id == null) return false;
+		
+		BarGroup group = barGroups.remove(id);
+		if (group == null) return false;
+		
+		group.bar.removeAll();
+		return true;
+	}
+
+	/**
+	 * Get the number of boss bar groups.
+	 * @return Group count
+	 */
+	public static int getBarGroupCount() {
+		return barGroups.size();
+	}
+
+	private static synchronized void ensureBarDriver() {
+		if (barDriverStarted) return;
+		
+		Plugin owner = plugin != null ? plugin : SchedulerHelper.getPlugin();
+		if (owner == null) {
+			ConsoleLog.warn("SchedulerHelper plugin not set");
+			return;
+		}
+
+		SchedulerHelper.runTimer(owner, VisualCreator::tickBarGroups, 1L, 1L);
+		barDriverStarted = true;
+	}
+
+	private static void tickBarGroups() {
+		if (barGroups.isEmpty()) return;
+		
+		long tick = ++barTicks;
+		for (BarGroup group : barGroups.values()) {
+			if (tick % group.intervalTicks != 0) continue;
+			try {
+				group.flush(tick, false);
+			} catch (Throwable t) {
+				ConsoleLog.warn("Failed to update boss bar " + group.id + ": " + t.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * A boss bar whose viewers follow joins and quits, with coalesced updates.
+	 * Progress changes smaller than the minimum delta are held back until they add up,
+	 * reach 0 or 1, or have waited a second.
+	 */
+	public static final class BarGroup {
+		private static final long MAX_HOLD_TICKS = 20;
+		
+		private final String id;
+		private final BossBar bar;
+		private volatile boolean allPlayers = false;
+		private volatile long intervalTicks = 1;
+		private volatile double minDelta = 0.0;
+		private double sentProgress;
+		private double pendingProgress = Double.NaN;
+		private long pendingSince;
+		private String pendingTitle;
+		
+		private BarGroup(String id, BossBar bar) {
+			this.id = id;
+			this.bar = bar;
+			this.sentProgress = bar.getProgress();
+		}
+
+		/**
+		 * Set how often pending changes are sent.
+		 * @param ticks Ticks between sends (default 1)
+		 * @return This group
+		 */
+		public BarGroup updateEvery(long ticks) {
+			this.intervalTicks = Math.max(1L, ticks);
+			return this;
+		}
+
+		/**
+		 * Set the smallest progress change worth sending.
+		 * @param delta Minimum change (0-1, default 0)
+		 * @return This group
+		 */
+		public BarGroup minProgressDelta(double delta) {
+			this.minDelta = Math.max(0.0, Math.min(1.0, delta));
+			return this;
+		}
+
+		/**
+		 * Show the bar to every online player, including players who join later.
+		 * @return This group
+		 */
+		public BarGroup showToAll() {
+			allPlayers = true;
+			for (Player player : Bukkit.getOnlinePlayers()) {
+				bar.addPlayer(player);
+			}
+			return this;
+		}
+
+		/**
+		 * Stop showing the bar to everyone; only players added with addViewer see it.
+		 * @return This group
+		 */
+		public BarGroup hideFromAll() {
+			allPlayers = false;
+			bar.removeAll();
+			return this;
+		}
+
+		public void addViewer(Player player) {
+			if (player != null) bar.addPlayer(player);
+		}
+
+		public void removeViewer(Player player) {
+			if (player != null) bar.removePlayer(player);
+		}
+
+		/**
+		 * Queue a progress change; it is sent on the group's next update.
+		 * @param progress Progress (0-1)
+		 */
+		public synchronized void setProgress(double progress) {
+			double clamped = Math.max(0.0, Math.min(1.0, progress));
+			if (Double.isNaN(pendingProgress)) pendingSince = barTicks;
+			pendingProgress = clamped;
+		}
+
+		/**
+		 * Queue a title change; it is sent on the group's next update.
+		 * @param title Title text
+		 */
+		public synchronized void setTitle(String title) {
+			pendingTitle = title == null ? "" : title;
+		}
+
+		/**
+		 * Send pending changes now instead of waiting for the next update.
+		 */
+		public void flush() {
+			flush(barTicks, true);
+		}
+
+		private synchronized void flush(long tick, boolean force) {
+			if (pendingTitle != null) {
+				if (!pendingTitle.equals(bar.getTitle())) bar.setTitle(pendingTitle);
+				pendingTitle = null;
+			}
+			if (Double.isNaN(pendingProgress)) return;
+			
+			double delta = Math.abs(pendingProgress - sentProgress);
+			boolean due = force || delta >= minDelta || pendingProgress == 0.0 || pendingProgress == 1.0
+				|| tick - pendingSince >= MAX_HOLD_TICKS;
+			if (!due) return;
+			
+			if (delta > 0.0) bar.setProgress(pendingProgress);
+			sentProgress = pendingProgress;
+			pendingProgress = Double.NaN;
+		}
+
+		/**
+		 * @return Latest requested progress, sent or not
+		 */
+		public synchronized double getProgress() {
+			return Double.isNaN(pendingProgress) ? sentProgress : pendingProgress;
+		}
+
+		public String getId() { return id; }
+		public BossBar getBar() { return bar; }
+		public boolean isShownToAll() { return allPlayers; }
 	}
 
 	public static Color rgb(int r, int g, int b) {